@@ -0,0 +1,68 @@
+package com.testautomation.benchmark;
+
+import com.testautomation.model.enums.TestActionType;
+import com.testautomation.service.runners.ElementUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-step lookups done before every action: action name to TestActionType and target to selector.
+ * Each benchmark has its own parameter state, so the two parameter sets are not multiplied.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StepLookupBenchmark {
+
+    @State(Scope.Thread)
+    public static class ActionState {
+        /**
+         * "navigate" is the first constant, "visualcompare" the last; "VerifyText" exercises the case-insensitive match
+         */
+        @Param({"navigate", "VerifyText", "visualcompare"})
+        private String action;
+    }
+
+    @State(Scope.Thread)
+    public static class SelectorState {
+        @Param({"css", "id", "name", "xpath"})
+        private String strategy;
+
+        private String target;
+
+        @Setup
+        public void setup() {
+            switch (strategy) {
+                case "id":
+                    target = "login-button";
+                    break;
+                case "name":
+                    target = "username";
+                    break;
+                case "xpath":
+                    target = "//form[@id='login']//button[@type='submit']";
+                    break;
+                default:
+                    target = "#login-form input[name='username']";
+                    break;
+            }
+        }
+    }
+
+    @Benchmark
+    public TestActionType actionFromString(ActionState state) {
+        return TestActionType.fromString(state.action);
+    }
+
+    @Benchmark
+    public String getSelector(SelectorState state) {
+        return ElementUtils.getSelector(state.target, state.strategy);
+    }
+}
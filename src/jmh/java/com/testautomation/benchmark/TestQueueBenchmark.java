@@ -0,0 +1,133 @@
+package com.testautomation.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testautomation.model.Test;
+import com.testautomation.model.enums.TestPriority;
+import com.testautomation.model.enums.TestStatus;
+import com.testautomation.repository.TestRepository;
+import com.testautomation.service.core.ExecutionMetrics;
+import com.testautomation.service.core.TestQueueService;
+import com.testautomation.service.core.TimingWheelScheduler;
+import com.testautomation.service.websocket.WebSocketService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestQueueService hot paths with 10 to 10k tests already queued.
+ * The service is wired with its real collaborators (timing wheel, WebSocket serialization, metrics);
+ * only the STOMP channel and the repository are stubbed out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TestQueueBenchmark {
+    private static final TestPriority[] PRIORITIES = TestPriority.values();
+
+    @Param({"10", "100", "1000", "10000"})
+    private int queuedTests;
+
+    private TimingWheelScheduler timingWheelScheduler;
+    private TestQueueService queueService;
+    private String middleTestId;
+    private long sequence;
+    private boolean high;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        timingWheelScheduler = new TimingWheelScheduler();
+        set(timingWheelScheduler, "tickMs", 100L);
+        set(timingWheelScheduler, "wheelSize", 512);
+        timingWheelScheduler.start();
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        WebSocketService webSocketService = new WebSocketService(
+            new SimpMessagingTemplate((message, timeout) -> true), objectMapper);
+        TestRepository testRepository = (TestRepository) Proxy.newProxyInstance(
+            TestRepository.class.getClassLoader(), new Class<?>[]{TestRepository.class},
+            (proxy, method, args) -> null);
+
+        queueService = new TestQueueService(webSocketService, event -> { }, timingWheelScheduler,
+            testRepository, new ExecutionMetrics(new SimpleMeterRegistry()));
+        set(queueService, "maxSize", Integer.MAX_VALUE);
+        set(queueService, "timeout", TimeUnit.MINUTES.toMillis(30));
+        set(queueService, "registryMaxSize", 1000);
+        set(queueService, "registryTtl", 1000L);
+        queueService.initialize();
+
+        LocalDateTime queuedAt = LocalDateTime.now();
+        for (int i = 0; i < queuedTests; i++) {
+            Test test = newTest(PRIORITIES[i % PRIORITIES.length], queuedAt.plusNanos(i * 1000L));
+            queueService.addTest(test);
+            if (i == queuedTests / 2) {
+                middleTestId = test.getId();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        queueService.clearQueue();
+        timingWheelScheduler.stop();
+    }
+
+    /**
+     * One enqueue followed by one dequeue, so the queue stays at its configured size.
+     * The dequeued test is finished, as the dispatcher would do after running it.
+     */
+    @Benchmark
+    public Test addThenNext() {
+        queueService.addTest(newTest(PRIORITIES[(int) (sequence % PRIORITIES.length)], LocalDateTime.now()));
+        Test next = queueService.getNextTest();
+        next.updateStatus(TestStatus.COMPLETED, Collections.emptyMap());
+        queueService.onTestFinished(next);
+        return next;
+    }
+
+    /**
+     * Move a test from the middle of the queue between HIGH and LOW priority
+     */
+    @Benchmark
+    public boolean prioritize() {
+        high = !high;
+        return queueService.prioritizeTest(middleTestId, high ? TestPriority.HIGH : TestPriority.LOW);
+    }
+
+    @Benchmark
+    public int queuePosition() {
+        return queueService.getQueuePosition(middleTestId);
+    }
+
+    private Test newTest(TestPriority priority, LocalDateTime queuedAt) {
+        Test test = new Test();
+        test.setId("bench-" + sequence++);
+        test.setName("Benchmark test");
+        test.setPriority(priority);
+        test.setStatus(TestStatus.QUEUED);
+        test.setQueuedAt(queuedAt);
+        return test;
+    }
+
+    private static void set(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,109 @@
+package com.testautomation.benchmark;
+
+import com.testautomation.service.runners.StepExecutor;
+import com.testautomation.service.runners.VariableTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the previous regex-based replaceVariables with VariableTemplate.
+ * Run with: ./gradlew jmh  (add -prof gc in jmh.profilers to see allocation rates)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VariableTemplateBenchmark {
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
+
+    @Param({"plain", "single", "multiple"})
+    private String input;
+
+    private String value;
+    private VariableTemplate template;
+    private Map<String, Object> variables;
+    private Map<String, Object> dataSet;
+
+    @Setup
+    public void setup() {
+        switch (input) {
+            case "plain":
+                value = "#login-form input[name='username']";
+                break;
+            case "single":
+                value = "https://example.com/users/${userId}/profile";
+                break;
+            default:
+                value = "${firstName} ${lastName} <${email}> - order ${orderId}";
+                break;
+        }
+        template = VariableTemplate.compile(value);
+
+        variables = new HashMap<>();
+        variables.put("userId", "42");
+        variables.put("firstName", "Ada");
+        variables.put("lastName", "Lovelace");
+
+        dataSet = new HashMap<>();
+        dataSet.put("email", "ada@example.com");
+        dataSet.put("orderId", 1001);
+    }
+
+    @Benchmark
+    public String legacyRegex() {
+        return legacyReplaceVariables(value, variables, dataSet);
+    }
+
+    @Benchmark
+    public String replaceVariables() {
+        return StepExecutor.replaceVariables(value, variables, dataSet);
+    }
+
+    @Benchmark
+    public String precompiledTemplate() {
+        return template.render(variables, dataSet);
+    }
+
+    /**
+     * The implementation StepExecutor.replaceVariables used before VariableTemplate
+     */
+    private static String legacyReplaceVariables(String value, Map<String, Object> variables, Map<String, Object> dataSet) {
+        if (value == null) {
+            return null;
+        }
+
+        Matcher matcher = VARIABLE_PATTERN.matcher(value);
+        StringBuffer sb = new StringBuffer();
+
+        while (matcher.find()) {
+            String variableName = matcher.group(1);
+            Object replacement = null;
+
+            if (variables != null && variables.containsKey(variableName)) {
+                replacement = variables.get(variableName);
+            } else if (dataSet != null && dataSet.containsKey(variableName)) {
+                replacement = dataSet.get(variableName);
+            }
+
+            if (replacement != null) {
+                matcher.appendReplacement(sb, replacement.toString().replace("$", "\\$"));
+            } else {
+                matcher.appendReplacement(sb, matcher.group(0));
+            }
+        }
+
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.testautomation.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testautomation.model.LogEntry;
+import com.testautomation.model.Test;
+import com.testautomation.model.TestResult;
+import com.testautomation.model.TestStatusEvent;
+import com.testautomation.model.TestStep;
+import com.testautomation.model.TestStepResult;
+import com.testautomation.model.enums.TestPriority;
+import com.testautomation.model.enums.TestStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the payloads WebSocketService sends: the status event of a test
+ * (serialized once per change), the full test and the final test result.
+ * The ObjectMapper is built with Spring Boot's defaults (JSR-310 dates as ISO strings).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WebSocketPayloadBenchmark {
+
+    @Param({"10", "100"})
+    private int steps;
+
+    private ObjectMapper objectMapper;
+    private Test test;
+    private TestResult result;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        test = new Test();
+        test.setId("test-1");
+        test.setName("Checkout flow");
+        test.setDescription("Adds an item to the cart and completes checkout");
+        test.setPriority(TestPriority.HIGH);
+        test.setStatus(TestStatus.RUNNING);
+        test.setBaseUrl("https://shop.example.com");
+        test.setCreatedAt(LocalDateTime.now());
+        test.setQueuedAt(LocalDateTime.now());
+        test.setStartedAt(LocalDateTime.now());
+        test.setAgentId("agent-1");
+
+        result = new TestResult();
+        result.setId("result-1");
+        result.setTestId(test.getId());
+        result.setAgentId(test.getAgentId());
+        result.setName(test.getName());
+        result.setStatus(TestStatus.COMPLETED);
+        result.setSuccess(true);
+        result.setDuration(12_345);
+
+        for (int i = 0; i < steps; i++) {
+            TestStep step = new TestStep();
+            step.setAction("click");
+            step.setTarget("#item-" + i + " button.add-to-cart");
+            step.setStrategy("css");
+            step.setDescription("Add item " + i);
+            test.getSteps().add(step);
+
+            TestStepResult stepResult = new TestStepResult();
+            stepResult.setIndex(i);
+            stepResult.setAction(step.getAction());
+            stepResult.setDescription(step.getDescription());
+            stepResult.setSuccess(true);
+            stepResult.setDuration(120 + i);
+            stepResult.setStartTime("2024-01-01 12:00:00.000");
+            stepResult.setEndTime("2024-01-01 12:00:00.120");
+            result.getSteps().add(stepResult);
+
+            LogEntry logEntry = new LogEntry();
+            logEntry.setId("log-" + i);
+            logEntry.setLevel("INFO");
+            logEntry.setMessage("Step " + (i + 1) + " completed successfully");
+            logEntry.setTestId(test.getId());
+            logEntry.setResultId(result.getId());
+            logEntry.setSequence(i);
+            result.recordLog(logEntry, 50);
+        }
+    }
+
+    @Benchmark
+    public byte[] statusEvent() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new TestStatusEvent(test));
+    }
+
+    @Benchmark
+    public byte[] fullTest() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(test);
+    }
+
+    @Benchmark
+    public byte[] testResult() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(result);
+    }
+}
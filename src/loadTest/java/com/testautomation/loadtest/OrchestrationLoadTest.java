@@ -0,0 +1,367 @@
+package com.testautomation.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testautomation.TestAutomationApplication;
+import com.testautomation.model.enums.TestPriority;
+import de.flapdoodle.embed.mongo.MongodExecutable;
+import de.flapdoodle.embed.mongo.MongodStarter;
+import de.flapdoodle.embed.mongo.config.MongodConfig;
+import de.flapdoodle.embed.mongo.config.Net;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.process.runtime.Network;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Orchestration load test.
+ * Starts the server with the simulated driver against an embedded MongoDB, creates the tests through
+ * the REST API, queues them with run-auto and follows their status over the WebSocket topic until every
+ * test has finished. Reports throughput and p50/p95/p99 of submit latency, queue wait and end-to-end time.
+ *
+ * Tuned with system properties, for example:
+ * ./gradlew loadTest -Dloadtest.tests=20000 -Dloadtest.agents=50 -Dloadtest.step-latency-mean=20
+ */
+@SpringBootTest(classes = TestAutomationApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class OrchestrationLoadTest {
+    private static final int TESTS = Integer.getInteger("loadtest.tests", 10_000);
+    private static final int STEPS = Integer.getInteger("loadtest.steps", 5);
+    private static final int AGENTS = Integer.getInteger("loadtest.agents", 20);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 16);
+    private static final long TIMEOUT_MINUTES = Long.getLong("loadtest.timeout-minutes", 30);
+    private static final Set<String> TERMINAL_STATUSES = Set.of("COMPLETED", "FAILED", "TIMEOUT", "CANCELLED");
+    private static final TestPriority[] PRIORITIES = TestPriority.values();
+
+    private static MongodExecutable mongod;
+    private static int mongoPort;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final Map<String, Tracked> tracked = new ConcurrentHashMap<>();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> "mongodb://localhost:" + startMongo() + "/loadtest");
+        registry.add("spring.data.mongodb.database", () -> "loadtest");
+        registry.add("spring.autoconfigure.exclude",
+            () -> "org.springframework.boot.autoconfigure.mongo.embedded.EmbeddedMongoAutoConfiguration");
+        registry.add("app.execution.driver", () -> "simulated");
+        registry.add("app.driver.simulated.step-latency-mean", () -> System.getProperty("loadtest.step-latency-mean", "50"));
+        registry.add("app.driver.simulated.step-latency-stddev", () -> System.getProperty("loadtest.step-latency-stddev", "20"));
+        registry.add("app.driver.simulated.step-failure-rate", () -> System.getProperty("loadtest.step-failure-rate", "0.01"));
+        registry.add("app.driver.simulated.error-rate", () -> System.getProperty("loadtest.error-rate", "0.0"));
+        // Fixed pool size, so autoscaling does not skew the numbers
+        registry.add("app.agent.min-agents", () -> AGENTS);
+        registry.add("app.agent.max-agents", () -> AGENTS);
+        registry.add("app.autoscaler.enabled", () -> false);
+        registry.add("app.queue.max-size", () -> TESTS + 1);
+        registry.add("app.queue.timeout", () -> TimeUnit.MINUTES.toMillis(TIMEOUT_MINUTES + 1));
+        registry.add("app.reports-dir", () -> tempDir("reports"));
+        registry.add("app.screenshots-dir", () -> tempDir("screenshots"));
+        registry.add("logging.level.root", () -> "WARN");
+        registry.add("logging.level.com.testautomation", () -> "WARN");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        if (mongod != null) {
+            mongod.stop();
+        }
+    }
+
+    @Test
+    void pushTestsThroughOrchestration() throws Exception {
+        CountDownLatch finished = new CountDownLatch(TESTS);
+        StompSession session = subscribe(finished);
+
+        // Warm-up: one unmeasured test proves the subscription is live before the run starts
+        CountDownLatch warmup = new CountDownLatch(1);
+        Tracked warmupTest = new Tracked(TestPriority.MEDIUM, warmup);
+        String warmupId = createTest(-1, TestPriority.MEDIUM);
+        tracked.put(warmupId, warmupTest);
+        submit(warmupId, warmupTest);
+        assertTrue(warmup.await(1, TimeUnit.MINUTES), "Warm-up test did not finish; WebSocket events are not arriving");
+        tracked.remove(warmupId);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            // Create the test definitions
+            List<Future<String>> created = new ArrayList<>(TESTS);
+            for (int i = 0; i < TESTS; i++) {
+                int index = i;
+                created.add(clients.submit(() -> createTest(index, PRIORITIES[index % PRIORITIES.length])));
+            }
+            List<String> testIds = new ArrayList<>(TESTS);
+            for (int i = 0; i < TESTS; i++) {
+                String testId = created.get(i).get();
+                tracked.put(testId, new Tracked(PRIORITIES[i % PRIORITIES.length], finished));
+                testIds.add(testId);
+            }
+
+            // Queue the tests; end-to-end time is measured from the moment each request is sent
+            long startNanos = System.nanoTime();
+            List<Future<?>> submitted = new ArrayList<>(TESTS);
+            for (String testId : testIds) {
+                submitted.add(clients.submit(() -> {
+                    submit(testId, tracked.get(testId));
+                    return null;
+                }));
+            }
+            for (Future<?> future : submitted) {
+                future.get();
+            }
+            long submittedNanos = System.nanoTime();
+
+            boolean completed = finished.await(TIMEOUT_MINUTES, TimeUnit.MINUTES);
+            long endNanos = System.nanoTime();
+
+            Map<String, Object> report = report(startNanos, submittedNanos, endNanos);
+            String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+            System.out.println(json);
+            writeReport(json);
+
+            assertTrue(completed, (TESTS - finished.getCount()) + "/" + TESTS + " tests finished within "
+                + TIMEOUT_MINUTES + " minutes");
+            assertEquals(0, tracked.values().stream().filter(t -> t.httpStatus != 202).count(),
+                "Some run-auto requests were rejected");
+        } finally {
+            clients.shutdownNow();
+            session.disconnect();
+        }
+    }
+
+    private StompSession subscribe(CountDownLatch finished) throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(
+            new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+
+        StompSession session = stompClient.connect("http://localhost:" + port + "/ws",
+            new StompSessionHandlerAdapter() { }).get(30, TimeUnit.SECONDS);
+        session.subscribe("/topic/tests/status", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                long now = System.nanoTime();
+                Map<?, ?> event = (Map<?, ?>) payload;
+                Tracked test = tracked.get(String.valueOf(event.get("id")));
+                if (test == null) {
+                    return;
+                }
+                String status = String.valueOf(event.get("status"));
+                if ("RUNNING".equals(status)) {
+                    test.runningAt = now;
+                } else if (TERMINAL_STATUSES.contains(status) && test.finishedAt == 0) {
+                    test.finishedAt = now;
+                    test.finalStatus = status;
+                    test.latch.countDown();
+                }
+            }
+        });
+        return session;
+    }
+
+    private String createTest(int index, TestPriority priority) throws IOException, InterruptedException {
+        List<Map<String, Object>> steps = new ArrayList<>(STEPS);
+        for (int i = 0; i < STEPS; i++) {
+            Map<String, Object> step = new LinkedHashMap<>();
+            step.put("action", i % 2 == 0 ? "click" : "type");
+            step.put("target", "#field-" + i);
+            step.put("value", "value-" + i);
+            step.put("description", "Step " + (i + 1));
+            steps.add(step);
+        }
+
+        Map<String, Object> test = new LinkedHashMap<>();
+        test.put("name", "Load test " + index);
+        test.put("priority", priority.name());
+        test.put("takeScreenshots", false);
+        test.put("browserFullScreen", false);
+        test.put("steps", steps);
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri("/api/tests"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(test)))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, response.statusCode(), "Test could not be created: " + response.body());
+        return String.valueOf(objectMapper.readValue(response.body(), Map.class).get("id"));
+    }
+
+    private void submit(String testId, Tracked test) throws IOException, InterruptedException {
+        test.submittedAt = System.nanoTime();
+        HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(uri("/api/tests/" + testId + "/run-auto"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(),
+            HttpResponse.BodyHandlers.discarding());
+        test.acceptedAt = System.nanoTime();
+        test.httpStatus = response.statusCode();
+    }
+
+    private Map<String, Object> report(long startNanos, long submittedNanos, long endNanos) {
+        List<Tracked> tests = new ArrayList<>(tracked.values());
+        long finishedCount = tests.stream().filter(t -> t.finishedAt != 0).count();
+        long lastFinished = tests.stream().filter(t -> t.finishedAt != 0)
+            .mapToLong(t -> t.finishedAt).max().orElse(endNanos);
+
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        tests.stream().filter(t -> t.finalStatus != null)
+            .forEach(t -> statuses.merge(t.finalStatus, 1L, Long::sum));
+
+        Map<TestPriority, List<Tracked>> byPriority = new EnumMap<>(TestPriority.class);
+        tests.forEach(t -> byPriority.computeIfAbsent(t.priority, p -> new ArrayList<>()).add(t));
+        Map<String, Object> queueWaitByPriority = new LinkedHashMap<>();
+        byPriority.forEach((priority, group) -> queueWaitByPriority.put(priority.name(),
+            percentiles(group.stream().filter(t -> t.runningAt != 0).mapToLong(t -> t.runningAt - t.submittedAt).toArray())));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", LocalDateTime.now().toString());
+        report.put("tests", TESTS);
+        report.put("stepsPerTest", STEPS);
+        report.put("agents", AGENTS);
+        report.put("clients", CLIENTS);
+        report.put("finished", finishedCount);
+        report.put("statuses", statuses);
+        report.put("submitThroughputPerSecond", rate(TESTS, submittedNanos - startNanos));
+        report.put("completionThroughputPerSecond", rate(finishedCount, lastFinished - startNanos));
+        report.put("submitLatencyMs", percentiles(tests.stream().mapToLong(t -> t.acceptedAt - t.submittedAt).toArray()));
+        report.put("queueWaitMs", percentiles(tests.stream().filter(t -> t.runningAt != 0)
+            .mapToLong(t -> t.runningAt - t.submittedAt).toArray()));
+        report.put("queueWaitByPriorityMs", queueWaitByPriority);
+        report.put("endToEndMs", percentiles(tests.stream().filter(t -> t.finishedAt != 0)
+            .mapToLong(t -> t.finishedAt - t.submittedAt).toArray()));
+        return report;
+    }
+
+    private static Map<String, Object> percentiles(long[] nanos) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", nanos.length);
+        if (nanos.length == 0) {
+            return result;
+        }
+        Arrays.sort(nanos);
+        result.put("p50", millis(nanos, 50));
+        result.put("p95", millis(nanos, 95));
+        result.put("p99", millis(nanos, 99));
+        result.put("max", nanos[nanos.length - 1] / 1_000_000.0);
+        return result;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values, in milliseconds
+     */
+    private static double millis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    private static double rate(long count, long nanos) {
+        return nanos <= 0 ? 0 : count / (nanos / 1_000_000_000.0);
+    }
+
+    private static void writeReport(String json) throws IOException {
+        Path dir = Paths.get(System.getProperty("loadtest.report-dir", "build/reports/loadtest"));
+        Files.createDirectories(dir);
+        Path file = dir.resolve("loadtest-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".json");
+        Files.writeString(file, json);
+        System.out.println("Load test report: " + file.toAbsolutePath());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static synchronized int startMongo() {
+        if (mongod == null) {
+            try {
+                mongoPort = Network.freeServerPort(Network.getLocalHost());
+                MongodConfig config = MongodConfig.builder()
+                    .version(Version.Main.PRODUCTION)
+                    .net(new Net(mongoPort, Network.localhostIsIPv6()))
+                    .build();
+                mongod = MongodStarter.getDefaultInstance().prepare(config);
+                mongod.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return mongoPort;
+    }
+
+    private static String tempDir(String name) {
+        try {
+            return Files.createTempDirectory("loadtest-" + name).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Timestamps of one submitted test (System.nanoTime)
+     */
+    private static final class Tracked {
+        private final TestPriority priority;
+        private final CountDownLatch latch;
+        private volatile long submittedAt;
+        private volatile long acceptedAt;
+        private volatile long runningAt;
+        private volatile long finishedAt;
+        private volatile String finalStatus;
+        private volatile int httpStatus;
+
+        private Tracked(TestPriority priority, CountDownLatch latch) {
+            this.priority = priority;
+            this.latch = latch;
+        }
+    }
+}
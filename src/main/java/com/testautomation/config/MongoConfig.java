@@ -95,10 +95,13 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
         createIndex(mongoTemplate, "tests", Indexes.ascending("status"), "status_index");
         createIndex(mongoTemplate, "tests", Indexes.ascending("agentId"), "agentId_index");
         createIndex(mongoTemplate, "tests", Indexes.ascending("createdAt"), "createdAt_index");
+        createIndex(mongoTemplate, "tests", Indexes.ascending("completedAt", "status"), "completedAt_status_index");
+        createIndex(mongoTemplate, "tests", Indexes.ascending("agentId", "_id"), "agentId_id_index");
 
         // Test results koleksiyonu indeksleri
         createIndex(mongoTemplate, "test_results", Indexes.ascending("testId"), "testId_index");
         createIndex(mongoTemplate, "test_results", Indexes.ascending("agentId"), "agentId_index");
+        createIndex(mongoTemplate, "test_results", Indexes.ascending("agentId", "_id"), "agentId_id_index");
         createIndex(mongoTemplate, "test_results", Indexes.ascending("createdAt"), "createdAt_index");
 
         // Logs koleksiyonu indeksleri
@@ -106,6 +109,7 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
         createIndex(mongoTemplate, "logs", Indexes.ascending("agentId"), "agentId_index");
         createIndex(mongoTemplate, "logs", Indexes.ascending("timestamp"), "timestamp_index");
         createIndex(mongoTemplate, "logs", Indexes.ascending("level"), "level_index");
+        createIndex(mongoTemplate, "logs", Indexes.ascending("resultId", "sequence"), "resultId_sequence_index");
 
         // Agents koleksiyonu indeksleri
         createIndex(mongoTemplate, "agents", Indexes.ascending("status"), "status_index");
@@ -3,6 +3,9 @@ package com.testautomation.config;
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.connection.ConnectionPoolSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsCommandListener;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -40,10 +43,13 @@ public class MongoConnectionPoolConfig {
 
     /**
      * MongoDB istemci ayarlarını yapılandırır
+     * İstemci elle oluşturulduğu için Spring Boot'un Mongo metrik dinleyicileri burada eklenir:
+     * komut süreleri "mongodb.driver.commands" (komut ve koleksiyon etiketli), havuz durumu "mongodb.driver.pool.*".
+     * @param meterRegistry Metrik kaydı
      * @return Özelleştirilmiş MongoClientSettings
      */
     @Bean
-    public MongoClientSettings mongoClientSettings() {
+    public MongoClientSettings mongoClientSettings(MeterRegistry meterRegistry) {
         ConnectionString connectionString = new ConnectionString(mongoUri);
         
         ConnectionPoolSettings connectionPoolSettings = ConnectionPoolSettings.builder()
@@ -54,7 +60,9 @@ public class MongoConnectionPoolConfig {
                 
         return MongoClientSettings.builder()
                 .applyConnectionString(connectionString)
-                .applyToConnectionPoolSettings(builder -> builder.applySettings(connectionPoolSettings))
+                .applyToConnectionPoolSettings(builder -> builder.applySettings(connectionPoolSettings)
+                    .addConnectionPoolListener(new MongoMetricsConnectionPoolListener(meterRegistry)))
+                .addCommandListener(new MongoMetricsCommandListener(meterRegistry))
                 .applyToSocketSettings(builder -> 
                     builder.connectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
                            .readTimeout(socketTimeout, TimeUnit.MILLISECONDS))
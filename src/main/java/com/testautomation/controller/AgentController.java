@@ -1,12 +1,16 @@
 package com.testautomation.controller;
 
+import com.testautomation.model.CursorPage;
 import com.testautomation.model.Test;
 import com.testautomation.model.TestResult;
 import com.testautomation.service.core.AgentPoolService;
 import com.testautomation.service.core.AgentService;
+import com.testautomation.service.core.TestQueryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -17,6 +21,7 @@ import java.util.Map;
 public class AgentController {
     private final AgentService agentService;
     private final AgentPoolService agentPoolService;
+    private final TestQueryService testQueryService;
 
     @PostMapping("/register")
     public ResponseEntity<Map<String, String>> registerAgent() {
@@ -48,6 +53,53 @@ public class AgentController {
         return ResponseEntity.ok(results);
     }
 
+    /**
+     * Agent testlerini imleç ile sayfalı al (adımlar dahil edilmez)
+     * @param agentId Agent ID
+     * @param after Önceki sayfanın nextCursor değeri
+     * @param size Sayfa boyutu
+     * @return Test sayfası
+     */
+    @GetMapping("/{agentId}/tests/page")
+    public ResponseEntity<CursorPage<Test>> getAgentTestPage(
+            @PathVariable String agentId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > 500) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(testQueryService.findTests(agentId, after, size));
+    }
+
+    /**
+     * Agent test sonuçlarını imleç ile sayfalı al (adımlar ve loglar dahil edilmez)
+     * @param agentId Agent ID
+     * @param after Önceki sayfanın nextCursor değeri
+     * @param size Sayfa boyutu
+     * @return Test sonucu sayfası
+     */
+    @GetMapping("/{agentId}/results/page")
+    public ResponseEntity<CursorPage<TestResult>> getAgentTestResultPage(
+            @PathVariable String agentId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > 500) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(testQueryService.findResults(agentId, after, size));
+    }
+
+    /**
+     * Agent test sonuçlarını NDJSON olarak dışa aktar
+     * @param agentId Agent ID
+     * @return Satır başına bir sonuç içeren akış
+     */
+    @GetMapping(value = "/{agentId}/results/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAgentTestResults(@PathVariable String agentId) {
+        StreamingResponseBody body = out -> testQueryService.streamResults(agentId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * Agent havuzu durumunu al
      * @return Agent havuzu durumu
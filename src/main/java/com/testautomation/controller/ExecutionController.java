@@ -0,0 +1,53 @@
+package com.testautomation.controller;
+
+import com.testautomation.service.runners.AuthStateCache;
+import com.testautomation.service.runners.TestExecutionEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * ExecutionController
+ * Test yürütme havuzu API'leri
+ */
+@RestController
+@RequestMapping("/api/tests/execution")
+@RequiredArgsConstructor
+public class ExecutionController {
+    private final TestExecutionEngine testExecutionEngine;
+    private final AuthStateCache authStateCache;
+
+    /**
+     * Test yürütme havuzu ve slot durumunu al
+     * @return Test yürütme durumu
+     */
+    @GetMapping("/status")
+    public ResponseEntity<TestExecutionEngine.ExecutionStatus> getExecutionStatus() {
+        return ResponseEntity.ok(testExecutionEngine.getStatus());
+    }
+
+    /**
+     * Oturum önbelleğinin durumunu al
+     * @return Oturum önbelleği durumu
+     */
+    @GetMapping("/auth-states")
+    public ResponseEntity<AuthStateCache.AuthStateStatus> getAuthStates() {
+        return ResponseEntity.ok(authStateCache.getStatus());
+    }
+
+    /**
+     * Belirtilen ada ait kayıtlı oturumları sil; sonraki test giriş adımlarını yeniden çalıştırır
+     * @param name Oturum adı
+     * @return Silinen kayıt sayısı
+     */
+    @DeleteMapping("/auth-states/{name}")
+    public ResponseEntity<Map<String, Integer>> invalidateAuthState(@PathVariable String name) {
+        return ResponseEntity.ok(Map.of("invalidated", authStateCache.invalidateByName(name)));
+    }
+}
@@ -0,0 +1,43 @@
+package com.testautomation.controller;
+
+import com.testautomation.service.core.ScreenshotStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScreenshotController
+ * Test sonuçlarındaki ekran görüntüsü özetlerini görüntü dosyası olarak sunar
+ */
+@RestController
+@RequestMapping("/api/screenshots")
+@RequiredArgsConstructor
+public class ScreenshotController {
+    private final ScreenshotStore screenshotStore;
+
+    /**
+     * Ekran görüntüsünü al
+     * İçerik özetle belirlendiği için yanıt değişmez ve uzun süre önbelleğe alınabilir.
+     * @param hash İçerik özeti
+     * @return Görüntü dosyası
+     */
+    @GetMapping("/{hash}")
+    public ResponseEntity<Resource> getScreenshot(@PathVariable String hash) {
+        return screenshotStore.find(hash)
+            .map(screenshot -> ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(screenshot.getContentType()))
+                .contentLength(screenshot.getSize())
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic())
+                .body((Resource) new FileSystemResource(screenshotStore.pathOf(hash))))
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
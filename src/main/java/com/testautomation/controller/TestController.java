@@ -1,8 +1,11 @@
 package com.testautomation.controller;
 
+import com.testautomation.model.CursorPage;
+import com.testautomation.model.LogEntry;
 import com.testautomation.model.Test;
 import com.testautomation.model.TestRequest;
 import com.testautomation.model.TestResult;
+import com.testautomation.service.core.TestQueryService;
 import com.testautomation.service.core.TestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,8 +16,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -25,6 +30,7 @@ import java.util.concurrent.CompletableFuture;
 @Tag(name = "Test Yönetimi", description = "Test oluşturma, çalıştırma ve yönetme API'leri")
 public class TestController {
     private final TestService testService;
+    private final TestQueryService testQueryService;
 
     @Operation(summary = "Yeni test oluştur", description = "Yeni bir test senaryosu oluşturur")
     @ApiResponses(value = {
@@ -44,6 +50,42 @@ public class TestController {
         return ResponseEntity.ok(tests);
     }
 
+    @Operation(summary = "Testleri sayfalı listele", description = "Testleri _id sırasıyla imleç ile sayfalar; adımlar ve sonuçlar dahil edilmez")
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Test>> getTestPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > 500) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(testQueryService.findTests(null, after, size));
+    }
+
+    @Operation(summary = "Testleri dışa aktar", description = "Tüm testleri NDJSON olarak akışla döndürür (satır başına bir test)")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTests() {
+        StreamingResponseBody body = out -> testQueryService.streamTests(null, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Test sonuçlarını sayfalı listele", description = "Test sonuçlarını _id sırasıyla imleç ile sayfalar; adımlar ve loglar dahil edilmez")
+    @GetMapping("/results/page")
+    public ResponseEntity<CursorPage<TestResult>> getResultPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > 500) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(testQueryService.findResults(null, after, size));
+    }
+
+    @Operation(summary = "Test sonuçlarını dışa aktar", description = "Tüm test sonuçlarını NDJSON olarak akışla döndürür (satır başına bir sonuç)")
+    @GetMapping(value = "/results/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportResults() {
+        StreamingResponseBody body = out -> testQueryService.streamResults(null, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Test> getTestById(@PathVariable String id) {
         return testService.getTestById(id)
@@ -122,4 +164,25 @@ public class TestController {
         List<TestResult> results = testService.getTestResults(id);
         return ResponseEntity.ok(results);
     }
+
+    @Operation(summary = "Test sonucunu sil", description = "Sonucu siler; başka sonuçlarca kullanılmayan ekran görüntüleri de silinir")
+    @DeleteMapping("/results/{resultId}")
+    public ResponseEntity<Void> deleteResult(@PathVariable String resultId) {
+        if (!testService.deleteResult(resultId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Test sonucu loglarını al", description = "Bir test çalışmasının log kayıtlarını sequence sırasıyla imleç ile sayfalar")
+    @GetMapping("/results/{resultId}/logs")
+    public ResponseEntity<CursorPage<LogEntry>> getResultLogs(
+            @PathVariable String resultId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "500") int size) {
+        if (size < 1 || size > 1000) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(testQueryService.findResultLogs(resultId, after, size));
+    }
 }
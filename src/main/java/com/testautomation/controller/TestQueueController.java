@@ -1,10 +1,13 @@
 package com.testautomation.controller;
 
+import com.testautomation.model.TestStatusInfo;
 import com.testautomation.service.core.TestQueueService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -26,4 +29,31 @@ public class TestQueueController {
         TestQueueService.QueueStatus status = testQueueService.getQueueStatus();
         return ResponseEntity.ok(status);
     }
+
+    /**
+     * Test durumlarını sayfalı olarak al (önce aktif, sonra yakın zamanda tamamlanan testler)
+     * @param page Sayfa numarası (0 tabanlı)
+     * @param size Sayfa boyutu
+     * @return Test durumu sayfası
+     */
+    @GetMapping("/tests")
+    public ResponseEntity<TestQueueService.TestStatusPage> getTestStatuses(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        if (page < 0 || size < 1 || size > 500) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(testQueueService.getAllTestStatuses(page, size));
+    }
+
+    /**
+     * Test durumunu al
+     * @param testId Test ID
+     * @return Test durumu
+     */
+    @GetMapping("/tests/{testId}")
+    public ResponseEntity<TestStatusInfo> getTestStatus(@PathVariable String testId) {
+        TestStatusInfo status = testQueueService.getTestStatus(testId);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
 }
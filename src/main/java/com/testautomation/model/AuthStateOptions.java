@@ -0,0 +1,43 @@
+package com.testautomation.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Named authenticated session shared across tests.
+ * The login steps run once; later tests start from the saved browser storage state.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthStateOptions {
+
+    /**
+     * Auth state name (e.g. "admin-login")
+     */
+    private String name;
+
+    /**
+     * Login steps executed when no cached state exists
+     */
+    @Builder.Default
+    private List<TestStep> steps = new ArrayList<>();
+
+    /**
+     * Names of the variables that identify the credentials (e.g. "username", "password");
+     * their values are part of the cache key together with the base URL
+     */
+    @Builder.Default
+    private List<String> credentialVariables = new ArrayList<>();
+
+    /**
+     * How long the saved state may be reused in milliseconds (0 = server default)
+     */
+    private long ttl;
+}
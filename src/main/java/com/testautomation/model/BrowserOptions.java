@@ -1,4 +1,6 @@
 package com.testautomation.model;
+import com.testautomation.model.enums.HarMissPolicy;
+import com.testautomation.model.enums.HarMode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -70,4 +72,49 @@ public class BrowserOptions {
      */
     @Builder.Default
     private boolean fullScreen = true;
+
+    /**
+     * Whether step and final screenshots capture the full scrollable page instead of the viewport only
+     */
+    @Builder.Default
+    private boolean screenshotFullPage = true;
+
+    /**
+     * Screenshot image format: png or jpeg
+     */
+    @Builder.Default
+    private String screenshotFormat = "png";
+
+    /**
+     * JPEG quality between 0 and 100 (ignored for png)
+     */
+    @Builder.Default
+    private int screenshotQuality = 80;
+
+    /**
+     * Request blocking rules (resource types, URL globs, first-party only)
+     */
+    private NetworkProfile networkProfile;
+
+    /**
+     * HAR mode: OFF, RECORD (archive passing runs) or REPLAY (serve requests from the archive)
+     */
+    @Builder.Default
+    private HarMode harMode = HarMode.OFF;
+
+    /**
+     * Archive name under the reports directory; defaults to the test ID
+     */
+    private String harName;
+
+    /**
+     * URL glob limiting which requests are recorded and replayed (e.g. "https://api.example.com/**"); all requests if empty
+     */
+    private String harUrlFilter;
+
+    /**
+     * What to do with requests missing from the archive during replay
+     */
+    @Builder.Default
+    private HarMissPolicy harMissPolicy = HarMissPolicy.FAIL;
 }
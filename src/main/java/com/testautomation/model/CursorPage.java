@@ -0,0 +1,22 @@
+package com.testautomation.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * Pass {@code nextCursor} as the {@code after} parameter to fetch the next page; it is null on the last page.
+ */
+@Data
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+
+    public CursorPage(List<T> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+}
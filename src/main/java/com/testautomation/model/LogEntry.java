@@ -14,4 +14,9 @@ public class LogEntry {
     private String message;
     private String agentId;
     private String testId;
+    private String resultId;
+    /**
+     * Order of the entry within its test run
+     */
+    private long sequence;
 }
@@ -0,0 +1,53 @@
+package com.testautomation.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request routing rules applied to the browser context of a test
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NetworkProfile {
+
+    /**
+     * Playwright resource types to block (e.g. image, font, media, stylesheet)
+     */
+    @Builder.Default
+    private List<String> blockedResourceTypes = new ArrayList<>();
+
+    /**
+     * URL globs to block (e.g. "**.mp4", "https://*.google-analytics.com/**");
+     * "*" does not cross "/", "**" matches anything
+     */
+    @Builder.Default
+    private List<String> blockedUrlPatterns = new ArrayList<>();
+
+    /**
+     * Whether to block every request whose host is not the test's base URL host (or a subdomain of it)
+     */
+    @Builder.Default
+    private boolean firstPartyOnly = false;
+
+    /**
+     * Extra hosts (and their subdomains) allowed when firstPartyOnly is enabled
+     */
+    @Builder.Default
+    private List<String> allowedHosts = new ArrayList<>();
+
+    /**
+     * Whether the profile has any rule to apply
+     */
+    public boolean hasRules() {
+        return firstPartyOnly
+            || (blockedResourceTypes != null && !blockedResourceTypes.isEmpty())
+            || (blockedUrlPatterns != null && !blockedUrlPatterns.isEmpty());
+    }
+}
@@ -0,0 +1,20 @@
+package com.testautomation.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Rectangular area of a page capture in CSS pixels
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScreenRegion {
+    private int x;
+    private int y;
+    private int width;
+    private int height;
+}
@@ -0,0 +1,27 @@
+package com.testautomation.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored screenshot file, identified by the SHA-256 hash of its content
+ */
+@Data
+@Document(collection = "screenshots")
+public class ScreenshotObject {
+    /**
+     * SHA-256 hash of the image bytes (hex)
+     */
+    @Id
+    private String id;
+    private String contentType;
+    private long size;
+    /**
+     * Number of test result entries referencing this screenshot; the file is deleted when it drops to zero
+     */
+    private long refCount;
+    private LocalDateTime createdAt;
+}
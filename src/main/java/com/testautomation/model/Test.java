@@ -94,6 +94,23 @@ public class Test {
     @Builder.Default
     private int maxRetries = 0;
 
+    /**
+     * Whether retries resume from the last checkpoint step in a fresh browser context
+     * instead of re-running every step from the start
+     */
+    @Builder.Default
+    private boolean resumeFromCheckpoint = false;
+
+    /**
+     * Named login session; the login steps run only when no cached storage state exists
+     */
+    private AuthStateOptions authState;
+
+    /**
+     * Incremented on every definition update; compiled execution plans are cached per version
+     */
+    private long definitionVersion;
+
     /**
      * Get browser options, creating default options if none exist
      */
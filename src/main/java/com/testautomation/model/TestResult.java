@@ -6,7 +6,9 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Document(collection = "test_results")
@@ -27,7 +29,42 @@ public class TestResult {
     private boolean success;
     private TestStatus status;
     private String message;
+    /**
+     * Last log entries of the run; the full log is stored in the logs collection
+     */
     private List<LogEntry> logs = new ArrayList<>();
+    private long logCount;
+    private Map<String, Long> logLevelCounts = new HashMap<>();
+    /**
+     * Content hashes of the screenshots taken during the run (served by GET /api/screenshots/{hash})
+     */
     private List<String> screenshots = new ArrayList<>();
     private List<TestStepResult> steps = new ArrayList<>();
+    /**
+     * Requests aborted by the network profile, in total and per resource type
+     */
+    private long blockedRequestCount;
+    private Map<String, Long> blockedRequestsByType = new HashMap<>();
+    /**
+     * Requests not found in the HAR archive during replay
+     */
+    private long harReplayMisses;
+
+    /**
+     * Count a log entry and keep it in the bounded tail
+     * @param entry Log entry
+     * @param tailSize Maximum number of entries kept in {@link #logs}
+     */
+    public void recordLog(LogEntry entry, int tailSize) {
+        logCount++;
+        logLevelCounts.merge(entry.getLevel(), 1L, Long::sum);
+
+        if (tailSize <= 0) {
+            return;
+        }
+        logs.add(entry);
+        if (logs.size() > tailSize) {
+            logs.remove(0);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.testautomation.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.testautomation.model.enums.TestStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compact status message published over WebSocket on each status transition.
+ * Only the fields that change with the new status are set; full details are served by the REST API.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TestStatusEvent {
+    private String id;
+    private TestStatus status;
+    private LocalDateTime queuedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private String agentId;
+    private String error;
+    private long timestamp;
+
+    public TestStatusEvent(Test test) {
+        this.id = test.getId();
+        this.status = test.getStatus();
+        this.timestamp = System.currentTimeMillis();
+
+        if (status == null) {
+            return;
+        }
+
+        switch (status) {
+            case QUEUED:
+                this.queuedAt = test.getQueuedAt();
+                break;
+            case RUNNING:
+                this.startedAt = test.getStartedAt();
+                this.agentId = test.getAgentId();
+                break;
+            default:
+                this.completedAt = test.getCompletedAt();
+                this.agentId = test.getAgentId();
+                this.error = test.getError();
+                break;
+        }
+    }
+}
@@ -61,4 +61,16 @@ public class TestStepOptions {
      */
     @Builder.Default
     private boolean continueOnFailure = false;
+    
+    /**
+     * Whether to save a checkpoint (storage state, URL, variables) after this step succeeds;
+     * resumable test retries continue from the last checkpoint
+     */
+    @Builder.Default
+    private boolean checkpoint = false;
+
+    /**
+     * Tolerance, ignore regions and baseline handling of a visualcompare step
+     */
+    private VisualCompareOptions visualCompare;
 }
@@ -9,8 +9,15 @@ public class TestStepResult {
     private String description;
     private boolean success;
     private String error;
+    /**
+     * Content hash of the step screenshot
+     */
     private String screenshot;
     private long duration;
+    /**
+     * Comparison details of a visualcompare step
+     */
+    private VisualDiffResult visualDiff;
     private String startTime;
     private String endTime;
 }
@@ -0,0 +1,49 @@
+package com.testautomation.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Options of a visual comparison step
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisualCompareOptions {
+
+    /**
+     * Perceptual color difference (0-1) above which a pixel counts as changed; lower is stricter
+     */
+    @Builder.Default
+    private double threshold = 0.1;
+
+    /**
+     * Share of changed pixels (0-1) still accepted as a match
+     */
+    @Builder.Default
+    private double maxDiffRatio = 0.0;
+
+    /**
+     * Whether to compare the full scrollable page instead of the viewport only
+     */
+    @Builder.Default
+    private boolean fullPage = true;
+
+    /**
+     * Whether to replace the stored baseline with the current capture instead of comparing
+     */
+    @Builder.Default
+    private boolean updateBaseline = false;
+
+    /**
+     * Areas excluded from the comparison (e.g. clocks, ads, carousels)
+     */
+    @Builder.Default
+    private List<ScreenRegion> ignoreRegions = new ArrayList<>();
+}
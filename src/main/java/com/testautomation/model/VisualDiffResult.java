@@ -0,0 +1,25 @@
+package com.testautomation.model;
+
+import lombok.Data;
+
+/**
+ * Outcome of a visual comparison step
+ */
+@Data
+public class VisualDiffResult {
+    private String baseline;
+    private boolean passed;
+    /**
+     * True when no baseline existed (or it was updated) and the current capture was stored as the baseline
+     */
+    private boolean baselineCreated;
+    private long mismatchedPixels;
+    private long comparedPixels;
+    private double diffRatio;
+    private int mismatchedTiles;
+    /**
+     * Path of the diff image; only written when the comparison fails
+     */
+    private String diffImage;
+    private long duration;
+}
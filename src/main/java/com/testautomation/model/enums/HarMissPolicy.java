@@ -0,0 +1,13 @@
+package com.testautomation.model.enums;
+
+/**
+ * HAR tekrar oynatmada arşivde bulunmayan isteklerin işlenme şekli
+ */
+public enum HarMissPolicy {
+    /** İstek iptal edilir ve test başarısız sayılır */
+    FAIL,
+    /** İstek gerçek ağa gönderilir */
+    PASSTHROUGH,
+    /** İstek 404 ile yanıtlanır */
+    NOT_FOUND
+}
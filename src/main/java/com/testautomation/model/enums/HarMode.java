@@ -0,0 +1,13 @@
+package com.testautomation.model.enums;
+
+/**
+ * HAR kayıt/tekrar oynatma modu
+ */
+public enum HarMode {
+    /** HAR kullanılmaz */
+    OFF,
+    /** Ağ trafiği kaydedilir; yalnızca başarılı çalıştırmaların arşivi saklanır */
+    RECORD,
+    /** İstekler arşivden yanıtlanır; arşiv yoksa çalıştırma kaydedilir */
+    REPLAY
+}
@@ -31,7 +31,8 @@ public enum TestActionType {
     SCREENSHOT("screenshot", "Take a screenshot"),
     SET_VARIABLE("setvariable", "Set a variable in the test context"),
     GET_TEXT("gettext", "Get text from an element and store it in a variable"),
-    GET_ATTRIBUTE("getattribute", "Get an attribute from an element and store it in a variable");
+    GET_ATTRIBUTE("getattribute", "Get an attribute from an element and store it in a variable"),
+    VISUAL_COMPARE("visualcompare", "Compare the page with a stored baseline screenshot");
 
     private final String value;
     private final String description;
@@ -0,0 +1,46 @@
+package com.testautomation.model.events;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Map;
+
+/**
+ * DispatchEvent
+ * Test dağıtıcısını uyandıran kuyruk ve agent olayları için event sınıfı
+ */
+public class DispatchEvent extends ApplicationEvent {
+    public static final String TEST_QUEUED = "testQueued";
+    public static final String TEST_REMOVED = "testRemoved";
+    public static final String AGENT_AVAILABLE = "agentAvailable";
+
+    private final String eventType;
+    private final Map<String, Object> data;
+
+    /**
+     * DispatchEvent yapıcı metodu
+     * @param source Olayı tetikleyen nesne
+     * @param eventType Olay tipi
+     * @param data Olay verileri
+     */
+    public DispatchEvent(Object source, String eventType, Map<String, Object> data) {
+        super(source);
+        this.eventType = eventType;
+        this.data = data;
+    }
+
+    /**
+     * Olay tipini al
+     * @return Olay tipi
+     */
+    public String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Olay verilerini al
+     * @return Olay verileri
+     */
+    public Map<String, Object> getData() {
+        return data;
+    }
+}
@@ -3,22 +3,26 @@ package com.testautomation.service.core;
 import com.testautomation.model.Agent;
 import com.testautomation.model.enums.AgentStatus;
 import com.testautomation.model.AgentStatusInfo;
-import com.testautomation.repository.AgentRepository;
+import com.testautomation.model.events.DispatchEvent;
+import com.testautomation.service.runners.AgentBrowserManager;
 import com.testautomation.service.websocket.WebSocketService;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import javax.annotation.PostConstruct;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,9 +30,12 @@ import java.util.stream.Collectors;
 public class AgentPoolService {
     private static final Logger logger = LoggerFactory.getLogger(AgentPoolService.class);
 
-    private final AgentRepository agentRepository;
+    private final AgentStateStore agentStateStore;
     private final WebSocketService webSocketService;
     private final TestQueueService testQueueService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AgentBrowserManager agentBrowserManager;
+    private final ExecutionMetrics executionMetrics;
 
     @Value("${app.agent.min-agents:3}")
     private int minAgents;
@@ -48,7 +55,10 @@ public class AgentPoolService {
     @Value("${app.agent.scale-check-interval:30000}")
     private long scaleCheckInterval;
 
-    private final Map<String, Agent> agents = new ConcurrentHashMap<>();
+    private final Map<String, PooledAgent> agents = new ConcurrentHashMap<>();
+
+    // Boştaki agent ID'leri; en son serbest kalan başta (sıcak tarayıcısı olan agent önce kullanılır)
+    private final Deque<String> idleAgentIds = new ConcurrentLinkedDeque<>();
 
     @PostConstruct
     public void initialize() {
@@ -56,55 +66,63 @@ public class AgentPoolService {
         for (int i = 0; i < minAgents; i++) {
             createAgent();
         }
+        executionMetrics.bindAgentPool(this);
     }
 
     public Agent createAgent() {
-        if (agents.size() >= maxAgents) {
-            logger.warn("Maximum agent count reached ({})", maxAgents);
+        PooledAgent pooled = registerAgent(AgentStatus.IDLE);
+        if (pooled == null) {
             return null;
         }
 
+        idleAgentIds.offerFirst(pooled.getAgent().getId());
+        publishAgentAvailable(pooled.getAgent().getId());
+
+        return pooled.getAgent();
+    }
+
+    /**
+     * Yeni agent oluştur ve havuza ekle
+     * @param initialStatus Başlangıç durumu (IDLE veya doğrudan talep edilmiş BUSY)
+     * @return Havuza eklenen agent veya maksimuma ulaşıldıysa null
+     */
+    private PooledAgent registerAgent(AgentStatus initialStatus) {
         String agentId = UUID.randomUUID().toString();
         Agent agent = new Agent();
         agent.setId(agentId);
-        agent.setStatus(AgentStatus.IDLE);
+        agent.setStatus(initialStatus);
         agent.setLastActivity(LocalDateTime.now());
         agent.setCreatedAt(LocalDateTime.now());
         agent.setUpdatedAt(LocalDateTime.now());
 
-        agents.put(agentId, agent);
-
-        try {
-            agentRepository.save(agent);
-            logger.info("Agent saved to database: {}", agentId);
-        } catch (Exception e) {
-            logger.error("Error saving agent to database: {}", agentId, e);
+        PooledAgent pooled = new PooledAgent(agent);
+        synchronized (agents) {
+            if (agents.size() >= maxAgents) {
+                logger.warn("Maximum agent count reached ({})", maxAgents);
+                return null;
+            }
+            agents.put(agentId, pooled);
         }
 
+        // Persisted by the next write-behind flush
+        agentStateStore.put(agent);
+
         webSocketService.sendAgentStatus(agentId, "CREATED");
         logger.info("New agent created: {}", agentId);
 
-        return agent;
+        return pooled;
     }
 
     public boolean removeAgent(String agentId) {
-        if (!agents.containsKey(agentId)) {
+        PooledAgent pooled = agents.remove(agentId);
+        if (pooled == null) {
             return false;
         }
 
-        agents.remove(agentId);
+        pooled.markOffline();
+        agentBrowserManager.closeAgent(agentId);
 
-        try {
-            Agent agent = agentRepository.findById(agentId).orElse(null);
-            if (agent != null) {
-                agent.setStatus(AgentStatus.OFFLINE);
-                agent.setUpdatedAt(LocalDateTime.now());
-                agentRepository.save(agent);
-                logger.info("Agent status updated in database: {} (OFFLINE)", agentId);
-            }
-        } catch (Exception e) {
-            logger.error("Error updating agent status in database: {}", agentId, e);
-        }
+        agentStateStore.updateStatus(agentId, AgentStatus.OFFLINE);
 
         webSocketService.sendAgentStatus(agentId, "REMOVED");
         logger.info("Agent removed: {}", agentId);
@@ -118,12 +136,12 @@ public class AgentPoolService {
         List<String> idleAgents = new ArrayList<>();
 
         // Find idle agents
-        for (Map.Entry<String, Agent> entry : agents.entrySet()) {
+        for (Map.Entry<String, PooledAgent> entry : agents.entrySet()) {
             String agentId = entry.getKey();
-            Agent agent = entry.getValue();
+            PooledAgent agent = entry.getValue();
 
             if (agent.getStatus() == AgentStatus.IDLE) {
-                long idleTime = java.time.Duration.between(agent.getLastActivity(), now).toMillis();
+                long idleTime = java.time.Duration.between(agent.getAgent().getLastActivity(), now).toMillis();
 
                 if (idleTime > idleTimeout) {
                     idleAgents.add(agentId);
@@ -141,7 +159,7 @@ public class AgentPoolService {
 
             for (int i = 0; i < agentsToRemove && !idleAgents.isEmpty(); i++) {
                 String agentId = idleAgents.remove(idleAgents.size() - 1);
-                removeAgent(agentId);
+                retireIdleAgent(agentId);
             }
         }
 
@@ -159,7 +177,7 @@ public class AgentPoolService {
 
         // Count idle agents
         int idleAgentCount = 0;
-        for (Agent agent : agents.values()) {
+        for (PooledAgent agent : agents.values()) {
             if (agent.getStatus() == AgentStatus.IDLE) {
                 idleAgentCount++;
             }
@@ -189,7 +207,7 @@ public class AgentPoolService {
 
         // Count idle agents
         int idleAgentCount = 0;
-        for (Agent agent : agents.values()) {
+        for (PooledAgent agent : agents.values()) {
             if (agent.getStatus() == AgentStatus.IDLE) {
                 idleAgentCount++;
             }
@@ -232,7 +250,7 @@ public class AgentPoolService {
 
         // Count idle agents
         int idleAgentCount = 0;
-        for (Agent agent : agents.values()) {
+        for (PooledAgent agent : agents.values()) {
             if (agent.getStatus() == AgentStatus.IDLE) {
                 idleAgentCount++;
             }
@@ -257,7 +275,7 @@ public class AgentPoolService {
 
                 // Find idle agents to remove
                 List<String> idleAgents = new ArrayList<>();
-                for (Map.Entry<String, Agent> entry : agents.entrySet()) {
+                for (Map.Entry<String, PooledAgent> entry : agents.entrySet()) {
                     if (entry.getValue().getStatus() == AgentStatus.IDLE) {
                         idleAgents.add(entry.getKey());
 
@@ -269,80 +287,167 @@ public class AgentPoolService {
 
                 // Remove idle agents
                 for (String agentId : idleAgents) {
-                    removeAgent(agentId);
+                    retireIdleAgent(agentId);
                 }
             }
         }
     }
 
-    public Agent getIdleAgent() {
-        // Find an idle agent
-        for (Agent agent : agents.values()) {
-            if (agent.getStatus() == AgentStatus.IDLE) {
-                return agent;
+    /**
+     * Agent hâlâ boştaysa atomik olarak OFFLINE işaretle ve havuzdan çıkar
+     * @param agentId Agent ID
+     */
+    private void retireIdleAgent(String agentId) {
+        PooledAgent pooled = agents.get(agentId);
+        if (pooled != null && pooled.tryRetire()) {
+            removeAgent(agentId);
+        }
+    }
+
+    /**
+     * Boşta bir agent'ı al ve BUSY olarak işaretle
+     * Boşta agent yoksa ve maksimuma ulaşılmadıysa yeni agent oluşturur.
+     * Talep CAS ile yapılır; aynı agent iki kez verilemez ve veritabanına gidilmez.
+     * @return Talep edilen agent veya null
+     */
+    public Agent acquireIdleAgent() {
+        String agentId;
+        while ((agentId = idleAgentIds.pollFirst()) != null) {
+            PooledAgent pooled = agents.get(agentId);
+            if (pooled != null && pooled.tryClaim()) {
+                agentStateStore.updateStatus(agentId, AgentStatus.BUSY);
+                webSocketService.sendAgentStatus(agentId, AgentStatus.BUSY.toString());
+                return pooled.getAgent();
             }
+            // Kaldırılmış agent'a ait eski kayıt, atla
         }
 
-        // Create a new agent if maximum not reached
+        // Create a new agent (already claimed) if maximum not reached
         if (agents.size() < maxAgents) {
-            return createAgent();
+            PooledAgent pooled = registerAgent(AgentStatus.BUSY);
+            return pooled != null ? pooled.getAgent() : null;
         }
 
         return null;
     }
 
     /**
-     * Boşta bir agent ID'si al
-     * @return Boşta agent ID'si veya null
+     * Belirtilen agent boştaysa talep et ve BUSY olarak işaretle
+     * Belirli bir agent'a gönderilen testler için kullanılır; talep acquireIdleAgent ile aynı CAS üzerinden yapılır.
+     * @param agentId Agent ID
+     * @return Talep başarılıysa true; agent meşgulse veya havuzda yoksa false
+     */
+    public boolean claimAgent(String agentId) {
+        PooledAgent pooled = agents.get(agentId);
+        if (pooled == null || !pooled.tryClaim()) {
+            return false;
+        }
+
+        idleAgentIds.remove(agentId);
+        agentStateStore.updateStatus(agentId, AgentStatus.BUSY);
+        webSocketService.sendAgentStatus(agentId, AgentStatus.BUSY.toString());
+        return true;
+    }
+
+    /**
+     * Agent havuzda mı?
+     * @param agentId Agent ID
+     * @return Havuzdaysa true
      */
-    public String getIdleAgentId() {
-        Agent agent = getIdleAgent();
-        return agent != null ? agent.getId() : null;
+    public boolean hasAgent(String agentId) {
+        return agents.containsKey(agentId);
     }
 
+    /**
+     * Talep edilen agent'ı serbest bırak ve dağıtıcıyı uyandır
+     * @param agentId Agent ID
+     */
+    public void releaseAgent(String agentId) {
+        PooledAgent pooled = agents.get(agentId);
+        if (pooled == null) {
+            return;
+        }
+
+        if (pooled.markIdle()) {
+            agentStateStore.updateStatus(agentId, AgentStatus.IDLE);
+            idleAgentIds.offerFirst(agentId);
+            webSocketService.sendAgentStatus(agentId, AgentStatus.IDLE.toString());
+        }
+
+        publishAgentAvailable(agentId);
+    }
+
+    private void publishAgentAvailable(String agentId) {
+        eventPublisher.publishEvent(new DispatchEvent(this, DispatchEvent.AGENT_AVAILABLE,
+                Map.of("agentId", agentId)));
+    }
+
+    /**
+     * Hata durumundaki agent'ı IDLE durumuna getir
+     * Geçiş CAS ile yapılır; test çalıştıran (BUSY) veya havuzdan çıkarılan (OFFLINE) agent sıfırlanamaz.
+     * @param agentId Agent ID
+     * @return Agent IDLE durumundaysa veya sıfırlandıysa true; agent yoksa veya meşgulse false
+     */
     public boolean resetAgent(String agentId) {
-        if (!agents.containsKey(agentId)) {
+        PooledAgent pooled = agents.get(agentId);
+        if (pooled == null) {
             return false;
         }
 
-        Agent agent = agents.get(agentId);
-        agent.setStatus(AgentStatus.IDLE);
-        agent.setLastActivity(LocalDateTime.now());
-        agent.setUpdatedAt(LocalDateTime.now());
-
-        try {
-            agentRepository.save(agent);
-        } catch (Exception e) {
-            logger.error("Error resetting agent in database: {}", agentId, e);
+        if (!pooled.tryReset()) {
+            if (pooled.getStatus() == AgentStatus.IDLE) {
+                return true;
+            }
+            logger.warn("Agent sıfırlanamadı: {} ({})", agentId, pooled.getStatus());
             return false;
         }
 
+        // Yalnızca IDLE geçişini yapan çağrı agent'ı boştaki agent'lara ekler
+        idleAgentIds.offerFirst(agentId);
+        agentStateStore.updateStatus(agentId, AgentStatus.IDLE);
+
         webSocketService.sendAgentStatus(agentId, "RESET");
+        publishAgentAvailable(agentId);
         return true;
     }
 
     public AgentStatusInfo getAgentStatus(String agentId) {
-        if (!agents.containsKey(agentId)) {
+        PooledAgent pooled = agents.get(agentId);
+        if (pooled == null) {
             return null;
         }
 
-        Agent agent = agents.get(agentId);
-        return new AgentStatusInfo(agent);
+        return new AgentStatusInfo(pooled.getAgent());
     }
 
     public List<AgentStatusInfo> getAllAgents() {
         return agents.values().stream()
-                .map(AgentStatusInfo::new)
+                .map(pooled -> new AgentStatusInfo(pooled.getAgent()))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Count agents in the given status
+     * @param status Agent status
+     * @return Number of agents
+     */
+    public int countByStatus(AgentStatus status) {
+        int count = 0;
+        for (PooledAgent agent : agents.values()) {
+            if (agent.getStatus() == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     public PoolStatus getPoolStatus() {
         int idleAgents = 0;
         int busyAgents = 0;
         int offlineAgents = 0;
         int errorAgents = 0;
 
-        for (Agent agent : agents.values()) {
+        for (PooledAgent agent : agents.values()) {
             switch (agent.getStatus()) {
                 case IDLE:
                     idleAgents++;
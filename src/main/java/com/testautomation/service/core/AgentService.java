@@ -5,7 +5,6 @@ import com.testautomation.model.Test;
 import com.testautomation.model.TestResult;
 import com.testautomation.model.enums.AgentStatus;
 import com.testautomation.model.enums.TestStatus;
-import com.testautomation.repository.AgentRepository;
 import com.testautomation.repository.TestRepository;
 import com.testautomation.repository.TestResultRepository;
 import com.testautomation.service.websocket.WebSocketService;
@@ -27,7 +26,7 @@ public class AgentService {
     private final TestRepository testRepository;
     private final TestResultRepository testResultRepository;
     private final WebSocketService webSocketService;
-    private final AgentRepository agentRepository;
+    private final AgentStateStore agentStateStore;
 
     public String registerAgent() {
         String agentId = UUID.randomUUID().toString();
@@ -40,29 +39,21 @@ public class AgentService {
         agent.setCreatedAt(java.time.LocalDateTime.now());
         agent.setUpdatedAt(java.time.LocalDateTime.now());
 
-        try {
-            agentRepository.save(agent);
-            logger.info("Agent kaydedildi: {}", agentId);
-        } catch (Exception e) {
-            logger.error("Agent kaydedilirken hata oluştu: {}", e.getMessage());
-        }
+        agentStateStore.put(agent);
+        logger.info("Agent kaydedildi: {}", agentId);
 
         webSocketService.sendAgentStatus(agentId, "REGISTERED");
         return agentId;
     }
 
     public void heartbeat(String agentId) {
-        // Agent durumunu güncelle
-        try {
-            Agent agent = agentRepository.findById(agentId).orElse(null);
-            if (agent != null) {
-                agent.setLastActivity(java.time.LocalDateTime.now());
-                agent.setUpdatedAt(java.time.LocalDateTime.now());
-                agentRepository.save(agent);
-                logger.debug("Agent heartbeat güncellendi: {}", agentId);
-            }
-        } catch (Exception e) {
-            logger.error("Agent heartbeat güncellenirken hata oluştu: {}", e.getMessage());
+        // Agent durumunu güncelle (veritabanına toplu olarak yazılır)
+        boolean updated = agentStateStore.update(agentId, agent -> {
+            agent.setLastActivity(java.time.LocalDateTime.now());
+            agent.setUpdatedAt(java.time.LocalDateTime.now());
+        });
+        if (updated) {
+            logger.debug("Agent heartbeat güncellendi: {}", agentId);
         }
 
         webSocketService.sendAgentStatus(agentId, "ACTIVE");
@@ -83,47 +74,17 @@ public class AgentService {
         }
 
         // Agent durumunu güncelle
-        try {
-            Agent agent = agentRepository.findById(agentId).orElse(null);
-            if (agent != null) {
-                agent.setStatus(AgentStatus.OFFLINE);
-                agent.setUpdatedAt(java.time.LocalDateTime.now());
-                agentRepository.save(agent);
-                logger.info("Agent durumu güncellendi: {} (OFFLINE)", agentId);
-            }
-        } catch (Exception e) {
-            logger.error("Agent durumu güncellenirken hata oluştu: {}", e.getMessage());
+        boolean updated = agentStateStore.update(agentId, agent -> {
+            agent.setStatus(AgentStatus.OFFLINE);
+            agent.setUpdatedAt(java.time.LocalDateTime.now());
+        });
+        if (updated) {
+            logger.info("Agent durumu güncellendi: {} (OFFLINE)", agentId);
         }
 
         webSocketService.sendAgentStatus(agentId, "DEREGISTERED");
     }
 
-    /**
-     * Agent durumunu güncelle
-     * @param agentId Agent ID
-     * @param status Yeni durum
-     */
-    public void updateAgentStatus(String agentId, AgentStatus status) {
-        try {
-            Agent agent = agentRepository.findById(agentId).orElse(null);
-            if (agent != null) {
-                agent.setStatus(status);
-                agent.setLastActivity(java.time.LocalDateTime.now());
-                agent.setUpdatedAt(java.time.LocalDateTime.now());
-                agentRepository.save(agent);
-                logger.info("Agent durumu güncellendi: {} ({})", agentId, status);
-
-                // WebSocket ile durumu bildir
-                String statusStr = status.toString();
-                webSocketService.sendAgentStatus(agentId, statusStr);
-            } else {
-                logger.warn("Agent bulunamadı: {}", agentId);
-            }
-        } catch (Exception e) {
-            logger.error("Agent durumu güncellenirken hata oluştu: {}", e.getMessage());
-        }
-    }
-
     public List<Test> getAgentTests(String agentId) {
         return testRepository.findByAgentId(agentId);
     }
@@ -0,0 +1,191 @@
+package com.testautomation.service.core;
+
+import com.testautomation.model.Agent;
+import com.testautomation.model.enums.AgentStatus;
+import com.testautomation.repository.AgentRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * AgentStateStore
+ * Agent durumlarının bellekteki yetkili tablosu.
+ * Okumalar bellekten yapılır; değişiklikler agent başına birleştirilir ve periyodik olarak
+ * tek bir toplu yazma ile MongoDB'ye aktarılır (her agent için yalnızca son durum yazılır).
+ */
+@Service
+@RequiredArgsConstructor
+public class AgentStateStore {
+    private static final Logger logger = LoggerFactory.getLogger(AgentStateStore.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final AgentRepository agentRepository;
+
+    private final Map<String, Agent> agents = new ConcurrentHashMap<>();
+    private final Set<String> dirtyAgentIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Yeni agent ekle veya mevcut kaydı değiştir
+     * @param agent Agent
+     */
+    public void put(Agent agent) {
+        agents.put(agent.getId(), copyOf(agent));
+        dirtyAgentIds.add(agent.getId());
+    }
+
+    /**
+     * Agent'ı güncelle; bellekte yoksa bir kez veritabanından yüklenir
+     * @param agentId Agent ID
+     * @param mutation Uygulanacak değişiklik
+     * @return Agent bulunduysa true
+     */
+    public boolean update(String agentId, Consumer<Agent> mutation) {
+        load(agentId);
+        Agent updated = agents.computeIfPresent(agentId, (id, agent) -> {
+            mutation.accept(agent);
+            return agent;
+        });
+        if (updated == null) {
+            return false;
+        }
+
+        dirtyAgentIds.add(agentId);
+        return true;
+    }
+
+    /**
+     * Agent durumunu güncelle
+     * @param agentId Agent ID
+     * @param status Yeni durum
+     * @return Agent bulunduysa true
+     */
+    public boolean updateStatus(String agentId, AgentStatus status) {
+        return update(agentId, agent -> agent.updateStatus(status));
+    }
+
+    /**
+     * Agent'ın anlık kopyasını al
+     * @param agentId Agent ID
+     * @return Agent kopyası veya null
+     */
+    public Agent get(String agentId) {
+        load(agentId);
+        Agent[] snapshot = new Agent[1];
+        agents.computeIfPresent(agentId, (id, agent) -> {
+            snapshot[0] = copyOf(agent);
+            return agent;
+        });
+        return snapshot[0];
+    }
+
+    /**
+     * Yazılmayı bekleyen agent sayısı
+     * @return Bekleyen agent sayısı
+     */
+    public int getPendingWriteCount() {
+        return dirtyAgentIds.size();
+    }
+
+    /**
+     * Değişen agent'ları toplu olarak veritabanına yaz
+     */
+    @Scheduled(fixedDelayString = "${app.agent.flush-interval:5000}")
+    public void flush() {
+        if (dirtyAgentIds.isEmpty()) {
+            return;
+        }
+
+        List<Agent> snapshots = new ArrayList<>();
+        Iterator<String> iterator = dirtyAgentIds.iterator();
+        while (iterator.hasNext()) {
+            String agentId = iterator.next();
+            iterator.remove();
+
+            Agent snapshot = get(agentId);
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+            }
+        }
+
+        if (snapshots.isEmpty()) {
+            return;
+        }
+
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Agent.class);
+            for (Agent snapshot : snapshots) {
+                bulk.replaceOne(Query.query(Criteria.where("_id").is(snapshot.getId())), snapshot,
+                        FindAndReplaceOptions.options().upsert());
+            }
+            bulk.execute();
+            logger.debug("Agent durumları veritabanına yazıldı: {} agent", snapshots.size());
+        } catch (Exception e) {
+            logger.error("Agent durumları veritabanına yazılırken hata oluştu: {}", e.getMessage());
+            // Bir sonraki turda yeniden dene
+            for (Agent snapshot : snapshots) {
+                dirtyAgentIds.add(snapshot.getId());
+            }
+            return;
+        }
+
+        // Yazılan ve o sırada tekrar değişmemiş OFFLINE agent'ları bellekten çıkar
+        for (Agent snapshot : snapshots) {
+            if (snapshot.getStatus() == AgentStatus.OFFLINE) {
+                agents.computeIfPresent(snapshot.getId(), (id, agent) ->
+                        agent.getStatus() == AgentStatus.OFFLINE && !dirtyAgentIds.contains(id) ? null : agent);
+            }
+        }
+    }
+
+    /**
+     * Uygulama kapanırken bekleyen değişiklikleri yaz
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Bellekte olmayan agent'ı veritabanından yükle
+     * @param agentId Agent ID
+     */
+    private void load(String agentId) {
+        if (agentId == null || agents.containsKey(agentId)) {
+            return;
+        }
+
+        try {
+            agentRepository.findById(agentId).ifPresent(agent -> agents.putIfAbsent(agentId, agent));
+        } catch (Exception e) {
+            logger.error("Agent veritabanından yüklenirken hata oluştu: {}", e.getMessage());
+        }
+    }
+
+    private static Agent copyOf(Agent source) {
+        Agent copy = new Agent();
+        copy.setId(source.getId());
+        copy.setType(source.getType());
+        copy.setStatus(source.getStatus());
+        copy.setLastActivity(source.getLastActivity());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt() != null ? source.getUpdatedAt() : LocalDateTime.now());
+        return copy;
+    }
+}
@@ -0,0 +1,135 @@
+package com.testautomation.service.core;
+
+import com.testautomation.model.enums.AgentStatus;
+import com.testautomation.model.enums.TestActionType;
+import com.testautomation.model.enums.TestPriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * ExecutionMetrics
+ * Kuyruk, agent havuzu ve test çalıştırma metriklerini Micrometer'a kaydeder; metrikler
+ * actuator üzerinden (/actuator/metrics, /actuator/prometheus) okunur.
+ * Süre metrikleri yüzdelik dilim histogramıyla yayımlanır, böylece p95/p99 Prometheus tarafında hesaplanabilir.
+ * Etiket değerleri sınırlı kümelerden gelir (öncelik, agent durumu, adım tipi, tarayıcı tipi).
+ */
+@Service
+@RequiredArgsConstructor
+public class ExecutionMetrics {
+    private static final String PREFIX = "testautomation.";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.metrics.histograms:true}")
+    private boolean histograms;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Öncelik başına kuyruk uzunluğu göstergelerini kaydet
+     * @param queue Test kuyruğu
+     */
+    public void bindQueue(IndexedPriorityQueue queue) {
+        for (TestPriority priority : TestPriority.values()) {
+            Gauge.builder(PREFIX + "queue.depth", queue, q -> q.countOf(priority))
+                .description("Kuyrukta bekleyen test sayısı")
+                .tag("priority", priority.name())
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Durum başına agent sayısı göstergelerini kaydet
+     * @param agentPoolService Agent havuzu
+     */
+    public void bindAgentPool(AgentPoolService agentPoolService) {
+        for (AgentStatus status : AgentStatus.values()) {
+            Gauge.builder(PREFIX + "agents", agentPoolService, pool -> pool.countByStatus(status))
+                .description("Durumuna göre agent sayısı")
+                .tag("status", status.name())
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Testin kuyrukta beklediği süreyi kaydet
+     * @param priority Test önceliği
+     * @param waitMillis Bekleme süresi (ms)
+     */
+    public void recordQueueWait(TestPriority priority, long waitMillis) {
+        timer("queue.wait", "priority", priority != null ? priority.name() : "NONE")
+            .record(Math.max(0, waitMillis), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Test çalıştırma süresini kaydet
+     * @param browserType Tarayıcı tipi
+     * @param success Test başarılı mı
+     * @param durationMillis Süre (ms)
+     */
+    public void recordTest(String browserType, boolean success, long durationMillis) {
+        timer("test.duration", "browser", browserType(browserType), "outcome", outcome(success))
+            .record(durationMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adım süresini kaydet
+     * @param actionType Adım tipi
+     * @param success Adım başarılı mı
+     * @param durationMillis Süre (ms), gecikme ve yeniden denemeler dahil
+     */
+    public void recordStep(TestActionType actionType, boolean success, long durationMillis) {
+        timer("step.duration", "action", actionType != null ? actionType.getValue() : "unknown",
+            "outcome", outcome(success))
+            .record(durationMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Tarayıcı başlatma süresini ölç
+     * @param browserType Tarayıcı tipi
+     * @param launch Başlatma işlemi
+     * @return Başlatılan tarayıcı
+     */
+    public <T> T timeBrowserLaunch(String browserType, Supplier<T> launch) {
+        return timer("browser.launch", "browser", browserType(browserType)).record(launch);
+    }
+
+    /**
+     * Ekran görüntüsü alma süresini kaydet (yalnızca tarayıcı tarafı; diske yazma ayrı iş parçacığındadır)
+     * @param durationNanos Süre (ns)
+     */
+    public void recordScreenshot(long durationNanos) {
+        timer("screenshot.capture").record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String name, String... tags) {
+        String key = tags.length == 0 ? name : name + '|' + String.join("|", tags);
+        return timers.computeIfAbsent(key, k -> {
+            Timer.Builder builder = Timer.builder(PREFIX + name).tags(tags);
+            if (histograms) {
+                builder.publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofHours(1));
+            }
+            return builder.register(meterRegistry);
+        });
+    }
+
+    private static String browserType(String browserType) {
+        return browserType != null ? browserType.toLowerCase() : "chromium";
+    }
+
+    private static String outcome(boolean success) {
+        return success ? "success" : "failure";
+    }
+}
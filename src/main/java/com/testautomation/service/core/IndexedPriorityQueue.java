@@ -0,0 +1,384 @@
+package com.testautomation.service.core;
+
+import com.testautomation.model.enums.TestPriority;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * İndeksli öncelik kuyruğu
+ * Test ID'lerini öncelik (CRITICAL > HIGH > MEDIUM > LOW) ve kuyruğa alınma zamanına (FIFO)
+ * göre sıralı tutar. Alt ağaç boyutlarıyla zenginleştirilmiş bir treap üzerine kuruludur;
+ * ekleme, çıkarma, öncelik değiştirme ve sıra sorgusu O(log n) sürede yapılır.
+ */
+public final class IndexedPriorityQueue {
+
+    private final Map<String, Node> index = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SplittableRandom random = new SplittableRandom();
+    // Öncelik sırasına göre kuyruktaki test sayıları (son eleman önceliksiz testler)
+    private final int[] rankCounts = new int[TestPriority.values().length + 1];
+
+    private Node root;
+    private long sequence;
+
+    /**
+     * Kuyruğa test ekle
+     * @param testId Test ID
+     * @param priority Test önceliği
+     * @param queuedAt Kuyruğa alınma zamanı (null ise şimdiki zaman)
+     * @param capacity Maksimum kuyruk boyutu
+     * @return Eklendiyse veya zaten kuyruktaysa true, kuyruk doluysa false
+     */
+    public boolean offer(String testId, TestPriority priority, LocalDateTime queuedAt, int capacity) {
+        lock.writeLock().lock();
+        try {
+            if (index.containsKey(testId)) {
+                return true;
+            }
+            if (index.size() >= capacity) {
+                return false;
+            }
+
+            Node node = new Node(testId, rankOf(priority),
+                    queuedAt != null ? queuedAt : LocalDateTime.now(), sequence++, random.nextInt());
+            index.put(testId, node);
+            root = insert(root, node);
+            rankCounts[node.priority]++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Kuyruğun başındaki testi çıkar
+     * @return Test ID veya kuyruk boşsa null
+     */
+    public String poll() {
+        lock.writeLock().lock();
+        try {
+            if (root == null) {
+                return null;
+            }
+
+            Node first = root;
+            while (first.left != null) {
+                first = first.left;
+            }
+
+            index.remove(first.testId);
+            root = delete(root, first);
+            rankCounts[first.priority]--;
+            return first.testId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Testi kuyruktan çıkar
+     * @param testId Test ID
+     * @return Test kuyruktaysa true
+     */
+    public boolean remove(String testId) {
+        lock.writeLock().lock();
+        try {
+            Node node = index.remove(testId);
+            if (node == null) {
+                return false;
+            }
+
+            root = delete(root, node);
+            rankCounts[node.priority]--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Kuyruktaki testin önceliğini değiştir; kuyruğa alınma sırası korunur
+     * @param testId Test ID
+     * @param priority Yeni öncelik
+     * @return Test kuyruktaysa true
+     */
+    public boolean reprioritize(String testId, TestPriority priority) {
+        lock.writeLock().lock();
+        try {
+            Node node = index.get(testId);
+            if (node == null) {
+                return false;
+            }
+
+            int newRank = rankOf(priority);
+            if (node.priority == newRank) {
+                return true;
+            }
+
+            root = delete(root, node);
+            Node moved = new Node(testId, newRank, node.queuedAt, node.sequence, node.heapPriority);
+            index.put(testId, moved);
+            root = insert(root, moved);
+            rankCounts[node.priority]--;
+            rankCounts[newRank]++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Testin kuyruktaki sırasını al
+     * @param testId Test ID
+     * @return Sıra (0 tabanlı, kuyrukta değilse -1)
+     */
+    public int positionOf(String testId) {
+        lock.readLock().lock();
+        try {
+            Node target = index.get(testId);
+            if (target == null) {
+                return -1;
+            }
+
+            int position = 0;
+            Node current = root;
+            while (current != null) {
+                int cmp = compare(target, current);
+                if (cmp == 0) {
+                    return position + size(current.left);
+                }
+                if (cmp < 0) {
+                    current = current.left;
+                } else {
+                    position += size(current.left) + 1;
+                    current = current.right;
+                }
+            }
+            return -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Test kuyrukta mı?
+     * @param testId Test ID
+     * @return Kuyruktaysa true
+     */
+    public boolean contains(String testId) {
+        lock.readLock().lock();
+        try {
+            return index.containsKey(testId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Belirli öncelikteki kuyruk uzunluğu
+     * @param priority Test önceliği
+     * @return Bu öncelikle kuyrukta bekleyen test sayısı
+     */
+    public int countOf(TestPriority priority) {
+        lock.readLock().lock();
+        try {
+            return rankCounts[rankOf(priority)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Kuyruğun sıralı anlık görüntüsünü al
+     * @return Sıralı test ID listesi
+     */
+    public List<String> snapshot() {
+        lock.readLock().lock();
+        try {
+            return inOrder();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Kuyruğu boşalt
+     * @return Kuyruktan çıkarılan test ID'leri (sıralı)
+     */
+    public List<String> drain() {
+        lock.writeLock().lock();
+        try {
+            List<String> drained = inOrder();
+            index.clear();
+            root = null;
+            Arrays.fill(rankCounts, 0);
+            return drained;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<String> inOrder() {
+        List<String> result = new ArrayList<>(index.size());
+        Deque<Node> stack = new ArrayDeque<>();
+        Node current = root;
+
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            result.add(current.testId);
+            current = current.right;
+        }
+
+        return result;
+    }
+
+    private Node insert(Node tree, Node node) {
+        if (tree == null) {
+            return node;
+        }
+        if (node.heapPriority > tree.heapPriority) {
+            Node[] parts = split(tree, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            update(node);
+            return node;
+        }
+        if (compare(node, tree) < 0) {
+            tree.left = insert(tree.left, node);
+        } else {
+            tree.right = insert(tree.right, node);
+        }
+        update(tree);
+        return tree;
+    }
+
+    private Node delete(Node tree, Node node) {
+        if (tree == null) {
+            return null;
+        }
+        if (tree == node) {
+            Node merged = merge(tree.left, tree.right);
+            node.left = null;
+            node.right = null;
+            return merged;
+        }
+        if (compare(node, tree) < 0) {
+            tree.left = delete(tree.left, node);
+        } else {
+            tree.right = delete(tree.right, node);
+        }
+        update(tree);
+        return tree;
+    }
+
+    /**
+     * Ağacı anahtardan küçük ve büyük olmak üzere ikiye ayır
+     */
+    private Node[] split(Node tree, Node key) {
+        if (tree == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(tree, key) < 0) {
+            Node[] parts = split(tree.right, key);
+            tree.right = parts[0];
+            update(tree);
+            return new Node[]{tree, parts[1]};
+        }
+        Node[] parts = split(tree.left, key);
+        tree.left = parts[1];
+        update(tree);
+        return new Node[]{parts[0], tree};
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.heapPriority > right.heapPriority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static int compare(Node a, Node b) {
+        if (a.priority != b.priority) {
+            return Integer.compare(a.priority, b.priority);
+        }
+        int byTime = a.queuedAt.compareTo(b.queuedAt);
+        if (byTime != 0) {
+            return byTime;
+        }
+        return Long.compare(a.sequence, b.sequence);
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Öncelik sırası: CRITICAL > HIGH > MEDIUM > LOW, bilinmeyen en sona
+     */
+    private static int rankOf(TestPriority priority) {
+        if (priority == null) {
+            return TestPriority.values().length;
+        }
+        return TestPriority.values().length - 1 - priority.ordinal();
+    }
+
+    private static final class Node {
+        private final String testId;
+        private final int priority;
+        private final LocalDateTime queuedAt;
+        private final long sequence;
+        private final int heapPriority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(String testId, int priority, LocalDateTime queuedAt, long sequence, int heapPriority) {
+            this.testId = testId;
+            this.priority = priority;
+            this.queuedAt = queuedAt;
+            this.sequence = sequence;
+            this.heapPriority = heapPriority;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.testautomation.service.core;
+
+import com.testautomation.model.LogEntry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LogSinkService
+ * Test loglarını sınırlı bir tamponda toplar ve arka planda toplu olarak "logs" koleksiyonuna yazar.
+ * Tampon doluysa test iş parçacığı kısa bir süre bekler; yer açılmazsa kayıt atılır ve sayılır.
+ */
+@Service
+@RequiredArgsConstructor
+public class LogSinkService {
+    private static final Logger logger = LoggerFactory.getLogger(LogSinkService.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.logs.buffer-capacity:10000}")
+    private int bufferCapacity;
+
+    @Value("${app.logs.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.logs.flush-interval:1000}")
+    private long flushInterval;
+
+    @Value("${app.logs.offer-timeout:50}")
+    private long offerTimeout;
+
+    private BlockingQueue<LogEntry> buffer;
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    @PostConstruct
+    public void start() {
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        running = true;
+        writerThread = new Thread(this::writeLoop, "LogSink");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        logger.info("Log yazıcısı başlatıldı: tampon={}, toplu yazma={}", bufferCapacity, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Kalan kayıtları yaz
+        List<LogEntry> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+        logger.info("Log yazıcısı durduruldu: {} kayıt yazıldı, {} kayıt atıldı", writtenCount.get(), droppedCount.get());
+    }
+
+    /**
+     * Log kaydını yazılmak üzere tampona ekle
+     * @param entry Log kaydı
+     * @return Kayıt kabul edildiyse true, tampon dolu olduğu için atıldıysa false
+     */
+    public boolean submit(LogEntry entry) {
+        if (buffer.offer(entry)) {
+            return true;
+        }
+
+        try {
+            if (buffer.offer(entry, offerTimeout, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (droppedCount.incrementAndGet() % 1000 == 1) {
+            logger.warn("Log tamponu dolu, kayıtlar atılıyor (toplam atılan: {})", droppedCount.get());
+        }
+        return false;
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    private void writeLoop() {
+        List<LogEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                LogEntry first = buffer.poll(flushInterval, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("Log yazma döngüsünde hata oluştu", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<LogEntry> batch) {
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LogEntry.class);
+            bulk.insert(batch);
+            bulk.execute();
+            writtenCount.addAndGet(batch.size());
+        } catch (Exception e) {
+            droppedCount.addAndGet(batch.size());
+            logger.error("Loglar veritabanına yazılamadı ({} kayıt): {}", batch.size(), e.getMessage());
+        }
+    }
+}
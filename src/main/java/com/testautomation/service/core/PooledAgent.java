@@ -0,0 +1,86 @@
+package com.testautomation.service.core;
+
+import com.testautomation.model.Agent;
+import com.testautomation.model.enums.AgentStatus;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * PooledAgent
+ * Havuzdaki bir agent'ın atomik durum bilgisi.
+ * Durum geçişleri compare-and-set ile yapılır; böylece iki test aynı IDLE agent'ı talep edemez.
+ */
+final class PooledAgent {
+    private final Agent agent;
+    private final AtomicReference<AgentStatus> state;
+
+    PooledAgent(Agent agent) {
+        this.agent = agent;
+        this.state = new AtomicReference<>(agent.getStatus() != null ? agent.getStatus() : AgentStatus.IDLE);
+    }
+
+    Agent getAgent() {
+        return agent;
+    }
+
+    AgentStatus getStatus() {
+        return state.get();
+    }
+
+    /**
+     * Agent boştaysa BUSY olarak talep et
+     * @return Talep başarılıysa true
+     */
+    boolean tryClaim() {
+        return transition(AgentStatus.IDLE, AgentStatus.BUSY);
+    }
+
+    /**
+     * Agent boştaysa havuzdan çıkarılmak üzere OFFLINE olarak işaretle
+     * @return İşaretleme başarılıysa true
+     */
+    boolean tryRetire() {
+        return transition(AgentStatus.IDLE, AgentStatus.OFFLINE);
+    }
+
+    /**
+     * Agent hata durumundaysa IDLE olarak sıfırla
+     * @return Sıfırlama başarılıysa true
+     */
+    boolean tryReset() {
+        return transition(AgentStatus.ERROR, AgentStatus.IDLE);
+    }
+
+    /**
+     * Agent'ı IDLE durumuna getir
+     * @return Agent daha önce IDLE değilse true
+     */
+    boolean markIdle() {
+        AgentStatus current;
+        do {
+            current = state.get();
+            if (current == AgentStatus.IDLE) {
+                return false;
+            }
+        } while (!state.compareAndSet(current, AgentStatus.IDLE));
+
+        agent.updateStatus(AgentStatus.IDLE);
+        return true;
+    }
+
+    /**
+     * Agent'ı koşulsuz olarak OFFLINE durumuna getir
+     */
+    void markOffline() {
+        state.set(AgentStatus.OFFLINE);
+        agent.updateStatus(AgentStatus.OFFLINE);
+    }
+
+    private boolean transition(AgentStatus expected, AgentStatus next) {
+        if (!state.compareAndSet(expected, next)) {
+            return false;
+        }
+        agent.updateStatus(next);
+        return true;
+    }
+}
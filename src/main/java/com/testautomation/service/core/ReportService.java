@@ -2,81 +2,118 @@ package com.testautomation.service.core;
 
 import com.testautomation.model.Test;
 import com.testautomation.model.TestResult;
-import com.testautomation.model.enums.TestCategory;
-import com.testautomation.model.enums.TestStatus;
-import com.testautomation.repository.TestRepository;
-import com.testautomation.repository.TestResultRepository;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.facet;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+
+/**
+ * ReportService
+ * Rapor özetleri MongoDB toplama (aggregation) sorgularıyla hesaplanır;
+ * belgeler uygulamaya taşınmaz, yalnızca sayılar döner.
+ */
 @Service
 @RequiredArgsConstructor
 public class ReportService {
-    private final TestRepository testRepository;
-    private final TestResultRepository testResultRepository;
-    
+    private final MongoTemplate mongoTemplate;
+
     public Map<String, Object> getTestSummary() {
-        List<Test> allTests = testRepository.findAll();
-        
+        // Durum ve kategori sayıları tek geçişte hesaplanır
+        Aggregation aggregation = newAggregation(
+            facet(group("status").count().as("count")).as("statusCounts")
+                .and(group("category").count().as("count")).as("categoryCounts")
+        );
+        Document facets = mongoTemplate.aggregate(aggregation, Test.class, Document.class).getUniqueMappedResult();
+        List<Document> statusGroups = facetGroups(facets, "statusCounts");
+
         Map<String, Object> summary = new HashMap<>();
-        summary.put("totalTests", allTests.size());
-        
-        // Count by status
-        Map<TestStatus, Long> statusCounts = allTests.stream()
-            .collect(Collectors.groupingBy(Test::getStatus, Collectors.counting()));
-        summary.put("statusCounts", statusCounts);
-        
-        // Count by category
-        Map<TestCategory, Long> categoryCounts = allTests.stream()
-            .collect(Collectors.groupingBy(Test::getCategory, Collectors.counting()));
-        summary.put("categoryCounts", categoryCounts);
-        
+        summary.put("totalTests", sum(statusGroups));
+        summary.put("statusCounts", toCountMap(statusGroups));
+        summary.put("categoryCounts", toCountMap(facetGroups(facets, "categoryCounts")));
+
         return summary;
     }
-    
+
     public Map<String, Object> getTestResultSummary() {
-        List<TestResult> allResults = testResultRepository.findAll();
-        
+        Aggregation aggregation = newAggregation(
+            group()
+                .count().as("totalResults")
+                .sum(ConditionalOperators.when(Criteria.where("success").is(true)).then(1).otherwise(0))
+                .as("successCount")
+        );
+        Document totals = mongoTemplate.aggregate(aggregation, TestResult.class, Document.class).getUniqueMappedResult();
+
+        long totalResults = totals != null ? toLong(totals.get("totalResults")) : 0;
+        long successCount = totals != null ? toLong(totals.get("successCount")) : 0;
+        long failureCount = totalResults - successCount;
+
         Map<String, Object> summary = new HashMap<>();
-        summary.put("totalResults", allResults.size());
-        
-        // Count by success
-        long successCount = allResults.stream().filter(TestResult::isSuccess).count();
-        long failureCount = allResults.size() - successCount;
-        
+        summary.put("totalResults", totalResults);
         summary.put("successCount", successCount);
         summary.put("failureCount", failureCount);
-        summary.put("successRate", allResults.isEmpty() ? 0 : (double) successCount / allResults.size());
-        
+        summary.put("successRate", totalResults == 0 ? 0 : (double) successCount / totalResults);
+
         return summary;
     }
-    
+
     public Map<String, Object> getTestResultsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Test> tests = testRepository.findAll();
-        
-        List<Test> testsInRange = tests.stream()
-            .filter(test -> {
-                LocalDateTime completedAt = test.getCompletedAt();
-                return completedAt != null && 
-                       !completedAt.isBefore(startDate) && 
-                       !completedAt.isAfter(endDate);
-            })
-            .collect(Collectors.toList());
-        
+        // completedAt indeksli; aralık filtresi gruplamadan önce uygulanır
+        Aggregation aggregation = newAggregation(
+            match(Criteria.where("completedAt").gte(startDate).lte(endDate)),
+            group("status").count().as("count")
+        );
+        List<Document> statusGroups = mongoTemplate.aggregate(aggregation, Test.class, Document.class).getMappedResults();
+
         Map<String, Object> summary = new HashMap<>();
-        summary.put("totalTests", testsInRange.size());
-        
-        // Count by status
-        Map<TestStatus, Long> statusCounts = testsInRange.stream()
-            .collect(Collectors.groupingBy(Test::getStatus, Collectors.counting()));
-        summary.put("statusCounts", statusCounts);
-        
+        summary.put("totalTests", sum(statusGroups));
+        summary.put("statusCounts", toCountMap(statusGroups));
+
         return summary;
     }
+
+    /**
+     * Gruplama sonucunu anahtar-sayı haritasına dönüştür (boş anahtarlar atlanır)
+     */
+    private static Map<String, Long> toCountMap(List<Document> groups) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Document group : groups) {
+            Object key = group.get("_id");
+            if (key != null) {
+                counts.put(key.toString(), toLong(group.get("count")));
+            }
+        }
+        return counts;
+    }
+
+    private static long sum(List<Document> groups) {
+        long total = 0;
+        for (Document group : groups) {
+            total += toLong(group.get("count"));
+        }
+        return total;
+    }
+
+    private static List<Document> facetGroups(Document facets, String facetName) {
+        if (facets == null) {
+            return List.of();
+        }
+        return facets.getList(facetName, Document.class, List.of());
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
 }
@@ -0,0 +1,195 @@
+package com.testautomation.service.core;
+
+import com.testautomation.model.ScreenshotObject;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * ScreenshotStore
+ * Ekran görüntülerini içeriklerinin SHA-256 özetiyle saklar: objects/ab/cd/abcd... (iki seviyeli dizinler).
+ * Aynı görüntü yalnızca bir kez diske yazılır; "screenshots" koleksiyonu her dosyanın kaç test sonucu
+ * tarafından kullanıldığını sayar ve sayı sıfıra düştüğünde dosya silinir.
+ * Aynı özet için yazma ve silme işlemleri şeritli kilitlerle sıralanır (tek sunucu örneği varsayılır).
+ */
+@Service
+@RequiredArgsConstructor
+public class ScreenshotStore {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotStore.class);
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final int LOCK_STRIPES = 64;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    @Qualifier("screenshotsDir")
+    private String screenshotsDir;
+
+    private final Object[] locks = newLocks();
+
+    /**
+     * Görüntünün içerik özetini hesapla
+     * @param bytes Görüntü baytları
+     * @return SHA-256 özeti (hex)
+     */
+    public static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+
+    /**
+     * Değer bir ekran görüntüsü özeti mi (eski sonuçlarda dosya yolu bulunabilir)
+     * @param value Değer
+     * @return Özet ise true
+     */
+    public static boolean isHash(String value) {
+        return value != null && HASH_PATTERN.matcher(value).matches();
+    }
+
+    /**
+     * Görüntüyü sakla ve referans sayısını bir artır; aynı içerik zaten varsa dosya yeniden yazılmaz
+     * @param hash İçerik özeti
+     * @param bytes Görüntü baytları
+     */
+    public void put(String hash, byte[] bytes) throws IOException {
+        Query query = Query.query(Criteria.where("_id").is(hash));
+        Update update = new Update()
+            .inc("refCount", 1)
+            .setOnInsert("contentType", contentType(bytes))
+            .setOnInsert("size", bytes.length)
+            .setOnInsert("createdAt", LocalDateTime.now());
+
+        synchronized (lockFor(hash)) {
+            mongoTemplate.upsert(query, update, ScreenshotObject.class);
+
+            Path path = pathOf(hash);
+            if (Files.exists(path)) {
+                return;
+            }
+            // Yarım yazılmış dosya görünmesin diye önce geçici dosyaya yazılır
+            Files.createDirectories(path.getParent());
+            Path temp = path.resolveSibling(hash + ".tmp");
+            Files.write(temp, bytes);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Referansları bırak; referansı kalmayan dosyalar silinir
+     * @param values Test sonucundaki ekran görüntüsü değerleri (özet olmayanlar yok sayılır)
+     */
+    public void release(Collection<String> values) {
+        if (values == null) {
+            return;
+        }
+        for (String value : values) {
+            if (isHash(value)) {
+                release(value);
+            }
+        }
+    }
+
+    /**
+     * Tek bir referansı bırak
+     * @param hash İçerik özeti
+     */
+    public void release(String hash) {
+        ScreenshotObject updated = mongoTemplate.findAndModify(
+            Query.query(Criteria.where("_id").is(hash)),
+            new Update().inc("refCount", -1),
+            FindAndModifyOptions.options().returnNew(true),
+            ScreenshotObject.class);
+        if (updated == null || updated.getRefCount() > 0) {
+            return;
+        }
+
+        synchronized (lockFor(hash)) {
+            // Bu arada yeni bir referans eklendiyse kayıt silinmez
+            long removed = mongoTemplate.remove(
+                Query.query(Criteria.where("_id").is(hash).and("refCount").lte(0)),
+                ScreenshotObject.class).getDeletedCount();
+            if (removed > 0) {
+                try {
+                    Files.deleteIfExists(pathOf(hash));
+                } catch (IOException e) {
+                    logger.warn("Ekran görüntüsü silinemedi: {} - {}", hash, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Saklanan görüntünün kaydını bul
+     * @param hash İçerik özeti
+     * @return Kayıt (dosya diskte yoksa boş)
+     */
+    public Optional<ScreenshotObject> find(String hash) {
+        if (!isHash(hash) || !Files.exists(pathOf(hash))) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(mongoTemplate.findById(hash, ScreenshotObject.class));
+    }
+
+    /**
+     * Özetin dosya yolu
+     * @param hash İçerik özeti
+     * @return Dosya yolu
+     */
+    public Path pathOf(String hash) {
+        return Paths.get(screenshotsDir, "objects", hash.substring(0, 2), hash.substring(2, 4), hash);
+    }
+
+    /**
+     * Görüntünün içerik türü (PNG veya JPEG imzasına göre)
+     * @param bytes Görüntü baytları (en az ilk birkaç bayt)
+     * @return İçerik türü
+     */
+    public static String contentType(byte[] bytes) {
+        if (bytes.length >= 3 && (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xD8 && (bytes[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        return "image/png";
+    }
+
+    private Object lockFor(String hash) {
+        return locks[(hash.hashCode() & Integer.MAX_VALUE) % LOCK_STRIPES];
+    }
+
+    private static Object[] newLocks() {
+        Object[] stripes = new Object[LOCK_STRIPES];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+        return stripes;
+    }
+}
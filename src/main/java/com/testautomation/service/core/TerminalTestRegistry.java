@@ -0,0 +1,105 @@
+package com.testautomation.service.core;
+
+import com.testautomation.model.TestStatusInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tamamlanmış testler için boyut ve süre sınırlı kayıt
+ * Yalnızca hafif {@link TestStatusInfo} nesneleri tutulur (test sonuçları tutulmaz).
+ * Kapasite aşıldığında en uzun süredir erişilmeyen kayıt atılır; süresi dolan kayıtlar okunamaz.
+ */
+public final class TerminalTestRegistry {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry> entries;
+
+    public TerminalTestRegistry(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > TerminalTestRegistry.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Tamamlanmış testi kaydet
+     * @param info Test durum bilgisi
+     */
+    public synchronized void put(TestStatusInfo info) {
+        entries.put(info.getId(), new Entry(info, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Test durum bilgisini al
+     * @param testId Test ID
+     * @return Durum bilgisi veya yoksa/süresi dolduysa null
+     */
+    public synchronized TestStatusInfo get(String testId) {
+        Entry entry = entries.get(testId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(testId);
+            return null;
+        }
+        return entry.info;
+    }
+
+    /**
+     * Süresi dolduysa kaydı sil
+     * @param testId Test ID
+     * @return Kayıt silindiyse true
+     */
+    public synchronized boolean expire(String testId) {
+        Entry entry = entries.get(testId);
+        if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(testId);
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Geçerli kayıtların anlık görüntüsü (en son erişilen başta)
+     * @return Durum bilgisi listesi
+     */
+    public synchronized List<TestStatusInfo> snapshot() {
+        long now = System.currentTimeMillis();
+        List<TestStatusInfo> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            if (!entry.isExpired(now)) {
+                result.add(entry.info);
+            }
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static final class Entry {
+        private final TestStatusInfo info;
+        private final long expiresAt;
+
+        private Entry(TestStatusInfo info, long expiresAt) {
+            this.info = info;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.testautomation.service.core;
+
+import com.testautomation.model.Agent;
+import com.testautomation.model.Test;
+import com.testautomation.model.TestResult;
+import com.testautomation.model.enums.TestStatus;
+import com.testautomation.model.events.DispatchEvent;
+import com.testautomation.service.runners.TestExecutionEngine;
+import com.testautomation.service.runners.TestRunner;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * TestDispatcherService
+ * Kuyruktaki testleri boşta agent'lara dağıtır.
+ * Belirli bir agent'a gönderilen testler de buradan geçer; agent ve bir yürütme slotu boşalana kadar
+ * bekletilir, böylece aynı agent iki teste verilmez ve dolu havuz isteği reddetmez.
+ * Yoklama yapmaz; kuyruğa test eklendiğinde veya bir agent serbest kaldığında uyanır.
+ */
+@Service
+@RequiredArgsConstructor
+public class TestDispatcherService {
+    private static final Logger logger = LoggerFactory.getLogger(TestDispatcherService.class);
+
+    private final TestQueueService testQueueService;
+    private final AgentPoolService agentPoolService;
+    private final TestRunner testRunner;
+    private final TestExecutionEngine testExecutionEngine;
+
+    private final Map<String, CompletableFuture<TestResult>> pendingResults = new ConcurrentHashMap<>();
+    // Belirli bir agent'a gönderilmiş, agent'ın boşalmasını bekleyen testler (geliş sırasıyla)
+    private final Deque<PinnedRun> pinnedRuns = new ConcurrentLinkedDeque<>();
+
+    private final ReentrantLock signalLock = new ReentrantLock();
+    private final Condition signalCondition = signalLock.newCondition();
+    private boolean signalled;
+
+    private volatile boolean running;
+    private Thread dispatcherThread;
+
+    /**
+     * Servis başlatıldığında dağıtıcı iş parçacığını başlatır
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcherThread = new Thread(this::dispatchLoop, "TestDispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+        logger.info("Test dağıtıcısı başlatıldı");
+    }
+
+    /**
+     * Servis kapatıldığında dağıtıcı iş parçacığını durdurur
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcherThread != null) {
+            dispatcherThread.interrupt();
+        }
+
+        pendingResults.forEach((testId, future) ->
+                future.completeExceptionally(new IllegalStateException("Dispatcher stopped before test started: " + testId)));
+        pendingResults.clear();
+        PinnedRun run;
+        while ((run = pinnedRuns.pollFirst()) != null) {
+            run.future.completeExceptionally(new IllegalStateException("Dispatcher stopped before test started: " + run.test.getId()));
+        }
+        logger.info("Test dağıtıcısı durduruldu");
+    }
+
+    /**
+     * Testi kuyruğa al; bir agent boşaldığında çalıştırılır
+     * @param test Çalıştırılacak test
+     * @return Test tamamlandığında sonuçla tamamlanan future
+     */
+    public CompletableFuture<TestResult> submit(Test test) {
+        CompletableFuture<TestResult> future = new CompletableFuture<>();
+        CompletableFuture<TestResult> existing = pendingResults.putIfAbsent(test.getId(), future);
+        if (existing != null) {
+            logger.info("Test zaten kuyrukta bekliyor: {}", test.getId());
+            return existing;
+        }
+
+        if (!testQueueService.addTest(test)) {
+            pendingResults.remove(test.getId());
+            future.completeExceptionally(new IllegalStateException("Test queue is full"));
+        }
+
+        return future;
+    }
+
+    /**
+     * Testi belirtilen agent'ta çalıştır
+     * Agent başka bir test çalıştırıyorsa veya yürütme havuzu doluysa test, agent ve slot boşalana kadar bekler.
+     * Aynı agent'a gönderilen testler geliş sırasıyla çalışır.
+     * @param test Çalıştırılacak test
+     * @param agentId Agent ID
+     * @return Test tamamlandığında sonuçla tamamlanan future; agent havuzda yoksa hata ile tamamlanır
+     */
+    public CompletableFuture<TestResult> submit(Test test, String agentId) {
+        CompletableFuture<TestResult> future = new CompletableFuture<>();
+        if (!agentPoolService.hasAgent(agentId)) {
+            future.completeExceptionally(new IllegalArgumentException("Agent not found: " + agentId));
+            return future;
+        }
+
+        test.setAgentId(agentId);
+        pinnedRuns.offerLast(new PinnedRun(test, agentId, future));
+        signal();
+        return future;
+    }
+
+    /**
+     * Belirli bir agent'ı bekleyen testi iptal et
+     * @param testId Test ID
+     * @return Bekleyen test bulunup iptal edildiyse true
+     */
+    public boolean cancelPinned(String testId) {
+        boolean cancelled = false;
+        Iterator<PinnedRun> iterator = pinnedRuns.iterator();
+        while (iterator.hasNext()) {
+            PinnedRun run = iterator.next();
+            if (run.test.getId().equals(testId) && pinnedRuns.removeFirstOccurrence(run)) {
+                run.future.completeExceptionally(new IllegalStateException("Test cancelled before it started: " + testId));
+                cancelled = true;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Kuyruk ve agent olaylarını dinler
+     * @param event Dağıtım olayı
+     */
+    @EventListener
+    public void onDispatchEvent(DispatchEvent event) {
+        if (DispatchEvent.TEST_REMOVED.equals(event.getEventType())) {
+            String testId = (String) event.getData().get("testId");
+            CompletableFuture<TestResult> future = pendingResults.remove(testId);
+            if (future != null) {
+                Object error = event.getData().get("error");
+                future.completeExceptionally(new IllegalStateException(
+                        "Test removed from queue: " + (error != null ? error : event.getData().get("status"))));
+            }
+            return;
+        }
+
+        signal();
+    }
+
+    /**
+     * Bekleyen tüm test sonuçlarının sayısı
+     * @return Bekleyen test sayısı
+     */
+    public int getPendingCount() {
+        return pendingResults.size() + pinnedRuns.size();
+    }
+
+    private void signal() {
+        signalLock.lock();
+        try {
+            signalled = true;
+            signalCondition.signal();
+        } finally {
+            signalLock.unlock();
+        }
+    }
+
+    private void awaitSignal() throws InterruptedException {
+        signalLock.lock();
+        try {
+            while (!signalled) {
+                signalCondition.await();
+            }
+            signalled = false;
+        } finally {
+            signalLock.unlock();
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                awaitSignal();
+                dispatchPending();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("Test dağıtımı sırasında hata oluştu", e);
+            }
+        }
+    }
+
+    /**
+     * Kuyruk boşalana, boşta agent veya yürütme slotu kalmayana kadar test-agent eşleştirmesi yapar
+     */
+    private void dispatchPending() {
+        dispatchPinned();
+
+        while (running && testQueueService.getQueueLength() > 0) {
+            if (!testExecutionEngine.hasCapacity()) {
+                // Çalışan bir test bittiğinde agent serbest kalır ve tekrar uyanılır
+                return;
+            }
+
+            Agent agent = agentPoolService.acquireIdleAgent();
+            if (agent == null) {
+                // Bir agent serbest kaldığında tekrar uyanılacak
+                return;
+            }
+
+            Test test = testQueueService.getNextTest();
+            if (test == null) {
+                agentPoolService.releaseAgent(agent.getId());
+                return;
+            }
+
+            start(test, agent.getId(), pendingResults.remove(test.getId()), false);
+        }
+    }
+
+    /**
+     * Belirli bir agent'ı bekleyen testlerden agent'ı boşta olanları başlatır
+     */
+    private void dispatchPinned() {
+        Iterator<PinnedRun> iterator = pinnedRuns.iterator();
+        while (running && iterator.hasNext()) {
+            if (!testExecutionEngine.hasCapacity()) {
+                return;
+            }
+
+            PinnedRun run = iterator.next();
+            if (!agentPoolService.hasAgent(run.agentId)) {
+                // Agent beklerken havuzdan kaldırıldı
+                if (pinnedRuns.removeFirstOccurrence(run)) {
+                    run.future.completeExceptionally(new IllegalStateException("Agent removed before test started: " + run.agentId));
+                }
+                continue;
+            }
+
+            // Talep başarısızsa agent meşgul; sıradaki test başka bir agent'ı bekliyor olabilir
+            if (agentPoolService.claimAgent(run.agentId)) {
+                if (pinnedRuns.removeFirstOccurrence(run)) {
+                    start(run.test, run.agentId, run.future, true);
+                } else {
+                    // Test bu arada iptal edildi
+                    agentPoolService.releaseAgent(run.agentId);
+                }
+            }
+        }
+    }
+
+    private void start(Test test, String agentId, CompletableFuture<TestResult> caller, boolean pinned) {
+        if (test.getQueuedAt() != null) {
+            logger.info("Test agent'a atandı: {} -> {} (kuyrukta bekleme: {} ms)", test.getId(), agentId,
+                    Duration.between(test.getQueuedAt(), LocalDateTime.now()).toMillis());
+        }
+
+        CompletableFuture<TestResult> execution;
+        try {
+            test.setAgentId(agentId);
+            execution = testRunner.runTest(test, agentId);
+        } catch (Exception e) {
+            logger.error("Test başlatılamadı: {}", test.getId(), e);
+            agentPoolService.releaseAgent(agentId);
+            // Test kuyruktan alındı; QUEUED olarak kalmaması için başarısız olarak kapatılır
+            Map<String, Object> data = new HashMap<>();
+            data.put("error", "Test could not be started: " + e.getMessage());
+            testQueueService.updateTestStatus(test.getId(), TestStatus.FAILED, data);
+            if (caller != null) {
+                caller.completeExceptionally(e);
+            }
+            return;
+        }
+
+        execution.whenComplete((result, error) -> {
+            if (isRejected(error)) {
+                // Yürütme havuzu dolu: test eski sırasıyla kuyruğa döner
+                if (pinned) {
+                    pinnedRuns.offerFirst(new PinnedRun(test, agentId, caller));
+                } else {
+                    test.setAgentId(null);
+                    if (caller != null) {
+                        pendingResults.put(test.getId(), caller);
+                    }
+                    testQueueService.requeue(test);
+                }
+                agentPoolService.releaseAgent(agentId);
+                return;
+            }
+
+            agentPoolService.releaseAgent(agentId);
+            testQueueService.onTestFinished(test);
+            if (caller == null) {
+                return;
+            }
+            if (error != null) {
+                caller.completeExceptionally(error);
+            } else {
+                caller.complete(result);
+            }
+        });
+    }
+
+    private static boolean isRejected(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error instanceof RejectedExecutionException;
+    }
+
+    /**
+     * Belirli bir agent'a gönderilmiş test
+     */
+    private static final class PinnedRun {
+        private final Test test;
+        private final String agentId;
+        private final CompletableFuture<TestResult> future;
+
+        private PinnedRun(Test test, String agentId, CompletableFuture<TestResult> future) {
+            this.test = test;
+            this.agentId = agentId;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.testautomation.service.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testautomation.model.CursorPage;
+import com.testautomation.model.LogEntry;
+import com.testautomation.model.Test;
+import com.testautomation.model.TestResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * TestQueryService
+ * Test, test sonucu ve log listeleri için imleç (keyset) sayfalama ve NDJSON akışı.
+ * Sayfalar _id sırasıyla okunur ve ağır alanlar (adımlar, loglar) projeksiyonla dışarıda bırakılır;
+ * akış modu Mongo imleci üzerinden kayıt kayıt yazar, bu yüzden bellek kullanımı koleksiyon boyutundan bağımsızdır.
+ */
+@Service
+@RequiredArgsConstructor
+public class TestQueryService {
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final byte[] NEWLINE = {'\n'};
+
+    private static final String[] TEST_EXCLUDED_FIELDS = {"steps", "results"};
+    private static final String[] RESULT_EXCLUDED_FIELDS = {"steps", "logs"};
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Testleri imleç ile sayfalı getir
+     * @param agentId Agent ID (null ise tüm testler)
+     * @param after Önceki sayfanın nextCursor değeri (ilk sayfa için null)
+     * @param size Sayfa boyutu
+     * @return Test sayfası
+     */
+    public CursorPage<Test> findTests(String agentId, String after, int size) {
+        return findPage(Test.class, agentId, after, size, TEST_EXCLUDED_FIELDS, Test::getId);
+    }
+
+    /**
+     * Test sonuçlarını imleç ile sayfalı getir
+     * @param agentId Agent ID (null ise tüm sonuçlar)
+     * @param after Önceki sayfanın nextCursor değeri (ilk sayfa için null)
+     * @param size Sayfa boyutu
+     * @return Test sonucu sayfası
+     */
+    public CursorPage<TestResult> findResults(String agentId, String after, int size) {
+        return findPage(TestResult.class, agentId, after, size, RESULT_EXCLUDED_FIELDS, TestResult::getId);
+    }
+
+    /**
+     * Bir test çalışmasının loglarını sequence sırasıyla imleç ile sayfalı getir
+     * (resultId, sequence) indeksini kullanır; imleç son kaydın sequence değeridir.
+     * @param resultId Test sonucu ID
+     * @param after Önceki sayfanın nextCursor değeri (ilk sayfa için null)
+     * @param size Sayfa boyutu
+     * @return Log sayfası
+     */
+    public CursorPage<LogEntry> findResultLogs(String resultId, Long after, int size) {
+        Query query = new Query(Criteria.where("resultId").is(resultId));
+        if (after != null) {
+            query.addCriteria(Criteria.where("sequence").gt(after));
+        }
+        query.with(Sort.by(Sort.Direction.ASC, "sequence"));
+        query.limit(size + 1);
+
+        List<LogEntry> logs = mongoTemplate.find(query, LogEntry.class);
+        String nextCursor = null;
+        if (logs.size() > size) {
+            logs = logs.subList(0, size);
+            nextCursor = String.valueOf(logs.get(size - 1).getSequence());
+        }
+
+        return new CursorPage<>(logs, size, nextCursor);
+    }
+
+    /**
+     * Testleri NDJSON olarak akışla yaz (satır başına bir test)
+     * @param agentId Agent ID (null ise tüm testler)
+     * @param out Çıkış akışı
+     */
+    public void streamTests(String agentId, OutputStream out) throws IOException {
+        stream(Test.class, agentId, TEST_EXCLUDED_FIELDS, out);
+    }
+
+    /**
+     * Test sonuçlarını NDJSON olarak akışla yaz (satır başına bir sonuç)
+     * @param agentId Agent ID (null ise tüm sonuçlar)
+     * @param out Çıkış akışı
+     */
+    public void streamResults(String agentId, OutputStream out) throws IOException {
+        stream(TestResult.class, agentId, RESULT_EXCLUDED_FIELDS, out);
+    }
+
+    private <T> CursorPage<T> findPage(Class<T> type, String agentId, String after, int size,
+                                       String[] excludedFields, Function<T, String> idOf) {
+        Query query = buildQuery(agentId, excludedFields);
+        if (after != null && !after.isEmpty()) {
+            query.addCriteria(Criteria.where("_id").gt(after));
+        }
+        // Sonraki sayfa olup olmadığını anlamak için bir kayıt fazla okunur
+        query.limit(size + 1);
+
+        List<T> items = mongoTemplate.find(query, type);
+        String nextCursor = null;
+        if (items.size() > size) {
+            items = items.subList(0, size);
+            nextCursor = idOf.apply(items.get(size - 1));
+        }
+
+        return new CursorPage<>(items, size, nextCursor);
+    }
+
+    private <T> void stream(Class<T> type, String agentId, String[] excludedFields, OutputStream out) throws IOException {
+        Query query = buildQuery(agentId, excludedFields);
+        query.cursorBatchSize(STREAM_BATCH_SIZE);
+
+        try (CloseableIterator<T> cursor = mongoTemplate.stream(query, type)) {
+            while (cursor.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(cursor.next()));
+                out.write(NEWLINE);
+            }
+        }
+        out.flush();
+    }
+
+    private static Query buildQuery(String agentId, String[] excludedFields) {
+        Query query = new Query();
+        if (agentId != null) {
+            query.addCriteria(Criteria.where("agentId").is(agentId));
+        }
+        query.with(Sort.by(Sort.Direction.ASC, "_id"));
+        query.fields().exclude(excludedFields);
+        return query;
+    }
+}
@@ -4,15 +4,19 @@ import com.testautomation.model.Test;
 import com.testautomation.model.TestStatusInfo;
 import com.testautomation.model.enums.TestPriority;
 import com.testautomation.model.enums.TestStatus;
+import com.testautomation.model.events.DispatchEvent;
+import com.testautomation.repository.TestRepository;
 import com.testautomation.service.websocket.WebSocketService;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -23,6 +27,10 @@ public class TestQueueService {
     private static final Logger logger = LoggerFactory.getLogger(TestQueueService.class);
     
     private final WebSocketService webSocketService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TimingWheelScheduler timingWheelScheduler;
+    private final TestRepository testRepository;
+    private final ExecutionMetrics executionMetrics;
     
     @Value("${app.queue.max-size:100}")
     private int maxSize;
@@ -30,8 +38,23 @@ public class TestQueueService {
     @Value("${app.queue.timeout:1800000}") // Default 30 minutes
     private long timeout;
     
-    private final List<String> queue = Collections.synchronizedList(new ArrayList<>());
+    @Value("${app.queue.registry.max-size:1000}")
+    private int registryMaxSize;
+    
+    @Value("${app.queue.registry.ttl:3600000}") // Default 1 hour
+    private long registryTtl;
+    
+    private final IndexedPriorityQueue queue = new IndexedPriorityQueue();
+    // Queued and running tests only; finished tests move to the terminal registry
     private final Map<String, Test> tests = new ConcurrentHashMap<>();
+    private final Map<String, TimingWheelScheduler.TimerHandle> queueTimeouts = new ConcurrentHashMap<>();
+    private TerminalTestRegistry terminalTests;
+    
+    @PostConstruct
+    public void initialize() {
+        terminalTests = new TerminalTestRegistry(registryMaxSize, registryTtl);
+        executionMetrics.bindQueue(queue);
+    }
     
     /**
      * Add a test to the queue
@@ -39,19 +62,18 @@ public class TestQueueService {
      * @return true if successful, false otherwise
      */
     public boolean addTest(Test test) {
-        // Check queue size
-        if (queue.size() >= maxSize) {
+        // Register the test and arm its timeout first: the dispatcher may poll it as soon as it is offered
+        tests.put(test.getId(), test);
+        scheduleQueueTimeout(test);
+        
+        // Add test to queue (ordered by priority, then queued time)
+        if (!queue.offer(test.getId(), test.getPriority(), test.getQueuedAt(), maxSize)) {
+            cancelQueueTimeout(test.getId());
+            tests.remove(test.getId(), test);
             logger.warn("Queue is full: {}/{}", queue.size(), maxSize);
             return false;
         }
         
-        // Add test to queue
-        queue.add(test.getId());
-        tests.put(test.getId(), test);
-        
-        // Sort queue by priority
-        sortQueueByPriority();
-        
         // Get test's new queue position
         int queuePosition = getQueuePosition(test.getId());
         
@@ -61,23 +83,40 @@ public class TestQueueService {
         // Send test status update
         webSocketService.sendTestStatus(test);
         
+        // Wake up the dispatcher
+        eventPublisher.publishEvent(new DispatchEvent(this, DispatchEvent.TEST_QUEUED,
+                Map.of("testId", test.getId())));
+        
         return true;
     }
     
+    /**
+     * Put a test that could not be started back into the queue.
+     * The original priority and queued time are kept, so the test returns to its old position.
+     * No dispatch event is published; the dispatcher retries when execution capacity frees up.
+     * @param test The test to requeue
+     */
+    public void requeue(Test test) {
+        tests.put(test.getId(), test);
+        scheduleQueueTimeout(test);
+        queue.offer(test.getId(), test.getPriority(), test.getQueuedAt(), Integer.MAX_VALUE);
+
+        logger.info("Test requeued: {} ({}) - Position: {}",
+                test.getId(), test.getName(), getQueuePosition(test.getId()) + 1);
+    }
+
     /**
      * Get the next test in the queue
      * @return The next test or null if queue is empty
      */
     public Test getNextTest() {
-        if (queue.isEmpty()) {
+        // Get the first test in the queue
+        String testId = queue.poll();
+        
+        if (testId == null) {
             return null;
         }
-        
-        // Sort queue by priority
-        sortQueueByPriority();
-        
-        // Get the first test in the queue
-        String testId = queue.remove(0);
+        cancelQueueTimeout(testId);
         
         if (!tests.containsKey(testId)) {
             return null;
@@ -88,6 +127,10 @@ public class TestQueueService {
         if (test != null) {
             logger.info("Next test retrieved: {} ({}) - Priority: {}", 
                     test.getId(), test.getName(), test.getPriority());
+            if (test.getQueuedAt() != null) {
+                executionMetrics.recordQueueWait(test.getPriority(),
+                        Duration.between(test.getQueuedAt(), LocalDateTime.now()).toMillis());
+            }
         }
         
         return test;
@@ -121,20 +164,7 @@ public class TestQueueService {
             if (status == TestStatus.COMPLETED || status == TestStatus.FAILED || 
                     status == TestStatus.TIMEOUT || status == TestStatus.CANCELLED) {
                 removeFromQueue(test.getId());
-                
-                // Schedule test cleanup after 5 minutes
-                final String finalTestId = testId;
-                new Timer().schedule(new TimerTask() {
-                    @Override
-                    public void run() {
-                        // Check if test still exists before removing
-                        if (tests.containsKey(finalTestId)) {
-                            logger.debug("Cleaning up test object: {}", finalTestId);
-                            // Uncomment to actually remove the test
-                            // tests.remove(finalTestId);
-                        }
-                    }
-                }, 5 * 60 * 1000); // 5 minutes
+                retire(test);
             }
             
             return true;
@@ -143,32 +173,84 @@ public class TestQueueService {
         return false;
     }
     
+    /**
+     * Get the number of tests waiting in the queue
+     * @return Queue length
+     */
+    public int getQueueLength() {
+        return queue.size();
+    }
+    
+    /**
+     * Called when a dispatched test has finished running
+     * @param test The finished test
+     */
+    public void onTestFinished(Test test) {
+        if (isTerminal(test.getStatus())) {
+            retire(test);
+        }
+    }
+    
     /**
      * Get test status
+     * Active tests are served from memory, finished tests from the terminal registry,
+     * and anything else from the database.
      * @param testId Test ID
      * @return Test status or null if not found
      */
     public TestStatusInfo getTestStatus(String testId) {
-        if (!tests.containsKey(testId)) {
+        Test test = tests.get(testId);
+        if (test != null) {
+            if (isTerminal(test.getStatus())) {
+                retire(test);
+            }
+            return new TestStatusInfo(test);
+        }
+        
+        TestStatusInfo info = terminalTests.get(testId);
+        if (info != null) {
+            return info;
+        }
+        
+        Test stored = testRepository.findById(testId).orElse(null);
+        if (stored == null) {
             return null;
         }
         
-        Test test = tests.get(testId);
-        return test != null ? new TestStatusInfo(test) : null;
+        info = new TestStatusInfo(stored);
+        if (isTerminal(stored.getStatus())) {
+            cacheTerminal(info);
+        }
+        return info;
     }
     
     /**
-     * Get all test statuses
-     * @return Map of test IDs to test statuses
+     * Get test statuses page by page: active tests (oldest first), then recently finished tests
+     * @param page Page number (0-based)
+     * @param size Page size
+     * @return Page of test statuses
      */
-    public Map<String, TestStatusInfo> getAllTestStatuses() {
-        Map<String, TestStatusInfo> statuses = new HashMap<>();
-        
-        for (Map.Entry<String, Test> entry : tests.entrySet()) {
-            statuses.put(entry.getKey(), new TestStatusInfo(entry.getValue()));
+    public TestStatusPage getAllTestStatuses(int page, int size) {
+        List<TestStatusInfo> activeStatuses = new ArrayList<>();
+        
+        for (Test test : tests.values()) {
+            if (isTerminal(test.getStatus())) {
+                retire(test);
+            } else {
+                activeStatuses.add(new TestStatusInfo(test));
+            }
         }
+        activeStatuses.sort(Comparator.comparing(TestStatusInfo::getQueuedAt,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        
+        List<TestStatusInfo> statuses = new ArrayList<>(activeStatuses);
+        statuses.addAll(terminalTests.snapshot());
+        
+        // Büyük sayfa numaralarında taşmayı önlemek için ofset long ile hesaplanır
+        int from = (int) Math.min((long) page * size, statuses.size());
+        int to = Math.min(from + size, statuses.size());
         
-        return statuses;
+        return new TestStatusPage(page, size, statuses.size(), new ArrayList<>(statuses.subList(from, to)));
     }
     
     /**
@@ -178,7 +260,7 @@ public class TestQueueService {
     public QueueStatus getQueueStatus() {
         List<QueuedTest> queuedTests = new ArrayList<>();
         
-        for (String testId : queue) {
+        for (String testId : queue.snapshot()) {
             Test test = tests.get(testId);
             
             if (test != null) {
@@ -200,7 +282,7 @@ public class TestQueueService {
      * @return Queue position (0-based, -1 if not in queue)
      */
     public int getQueuePosition(String testId) {
-        return queue.indexOf(testId);
+        return queue.positionOf(testId);
     }
     
     /**
@@ -225,12 +307,12 @@ public class TestQueueService {
         TestPriority oldPriority = test.getPriority();
         test.setPriority(priority);
         
+        // Move test to its new position in queue
+        queue.reprioritize(testId, priority);
+        
         logger.info("Test priority changed: {} ({}) - {} -> {}", 
                 test.getId(), test.getName(), oldPriority, priority);
         
-        // Sort queue by priority
-        sortQueueByPriority();
-        
         // Send test status update
         webSocketService.sendTestStatus(test);
         
@@ -242,7 +324,8 @@ public class TestQueueService {
      */
     public void clearQueue() {
         // Cancel all tests in queue
-        for (String testId : queue) {
+        for (String testId : queue.drain()) {
+            cancelQueueTimeout(testId);
             Test test = tests.get(testId);
             
             if (test != null && test.getStatus() == TestStatus.QUEUED) {
@@ -255,11 +338,13 @@ public class TestQueueService {
                 // Send test status update
                 webSocketService.sendTestStatus(test);
             }
+            
+            publishRemoved(testId);
+            if (test != null) {
+                retire(test);
+            }
         }
         
-        // Clear queue
-        queue.clear();
-        
         logger.info("Queue cleared");
     }
     
@@ -268,76 +353,119 @@ public class TestQueueService {
      * @param testId Test ID
      */
     private void removeFromQueue(String testId) {
-        queue.remove(testId);
+        cancelQueueTimeout(testId);
+        if (queue.remove(testId)) {
+            publishRemoved(testId);
+        }
     }
     
     /**
-     * Sort queue by priority
+     * Notify listeners that a test left the queue without being dispatched
+     * @param testId Test ID
      */
-    private void sortQueueByPriority() {
-        // Priority order: CRITICAL > HIGH > MEDIUM > LOW
-        Map<TestPriority, Integer> priorityOrder = new HashMap<>();
-        priorityOrder.put(TestPriority.CRITICAL, 0);
-        priorityOrder.put(TestPriority.HIGH, 1);
-        priorityOrder.put(TestPriority.MEDIUM, 2);
-        priorityOrder.put(TestPriority.LOW, 3);
-        
-        // Sort queue by priority
-        synchronized (queue) {
-            queue.sort((a, b) -> {
-                Test testA = tests.get(a);
-                Test testB = tests.get(b);
-                
-                if (testA == null || testB == null) {
-                    return 0;
-                }
-                
-                // Sort by priority
-                int priorityA = priorityOrder.getOrDefault(testA.getPriority(), 4);
-                int priorityB = priorityOrder.getOrDefault(testB.getPriority(), 4);
-                
-                // If priorities are equal, sort by queued time (FIFO)
-                if (priorityA == priorityB) {
-                    return testA.getQueuedAt().compareTo(testB.getQueuedAt());
-                }
-                
-                return priorityA - priorityB;
-            });
+    private void publishRemoved(String testId) {
+        Test test = tests.get(testId);
+        Map<String, Object> data = new HashMap<>();
+        data.put("testId", testId);
+        if (test != null) {
+            data.put("status", test.getStatus());
+            data.put("error", test.getError());
+        }
+        eventPublisher.publishEvent(new DispatchEvent(this, DispatchEvent.TEST_REMOVED, data));
+    }
+    
+    /**
+     * Move a finished test out of the active map into the bounded terminal registry
+     * @param test The finished test
+     */
+    private void retire(Test test) {
+        if (tests.remove(test.getId(), test)) {
+            cacheTerminal(new TestStatusInfo(test));
         }
+    }
+    
+    /**
+     * Cache a finished test status and schedule its eviction
+     * @param info Test status
+     */
+    private void cacheTerminal(TestStatusInfo info) {
+        terminalTests.put(info);
         
-        logger.debug("Queue sorted by priority");
+        String testId = info.getId();
+        timingWheelScheduler.schedule(registryTtl, () -> {
+            if (terminalTests.expire(testId)) {
+                logger.debug("Cleaning up test object: {}", testId);
+            }
+        });
+    }
+    
+    private static boolean isTerminal(TestStatus status) {
+        return status == TestStatus.COMPLETED || status == TestStatus.FAILED || 
+                status == TestStatus.TIMEOUT || status == TestStatus.CANCELLED;
     }
     
     /**
-     * Check for test timeouts
+     * Schedule the queue timeout of a test, measured from its queued time
+     * @param test The queued test
+     */
+    private void scheduleQueueTimeout(Test test) {
+        long waited = test.getQueuedAt() != null
+                ? Duration.between(test.getQueuedAt(), LocalDateTime.now()).toMillis()
+                : 0;
+        String testId = test.getId();
+        TimingWheelScheduler.TimerHandle handle =
+                timingWheelScheduler.schedule(timeout - waited, () -> expireQueuedTest(testId));
+        
+        TimingWheelScheduler.TimerHandle previous = queueTimeouts.put(testId, handle);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+    
+    /**
+     * Cancel the queue timeout of a test
+     * @param testId Test ID
      */
-    @Scheduled(fixedRate = 60000) // Run every minute
-    public void checkTestTimeouts() {
-        LocalDateTime now = LocalDateTime.now();
+    private void cancelQueueTimeout(String testId) {
+        TimingWheelScheduler.TimerHandle handle = queueTimeouts.remove(testId);
+        if (handle != null) {
+            handle.cancel();
+        }
+    }
+    
+    /**
+     * Time out a test that waited too long in the queue
+     * @param testId Test ID
+     */
+    private void expireQueuedTest(String testId) {
+        queueTimeouts.remove(testId);
         
-        // Check tests in queue
-        for (String testId : new ArrayList<>(queue)) {
-            Test test = tests.get(testId);
+        // Only the caller that removes the test from the queue may time it out
+        if (!queue.remove(testId)) {
+            return;
+        }
+        
+        Test test = tests.get(testId);
+        if (test != null && test.getStatus() == TestStatus.QUEUED) {
+            long queueTime = test.getQueuedAt() != null
+                    ? Duration.between(test.getQueuedAt(), LocalDateTime.now()).toMillis()
+                    : timeout;
             
-            if (test != null && test.getStatus() == TestStatus.QUEUED && test.getQueuedAt() != null) {
-                long queueTime = java.time.Duration.between(test.getQueuedAt(), now).toMillis();
-                
-                if (queueTime > timeout) {
-                    // Test timed out
-                    Map<String, Object> data = new HashMap<>();
-                    data.put("error", "Test waited too long in queue");
-                    test.updateStatus(TestStatus.TIMEOUT, data);
-                    
-                    logger.warn("Test timed out: {} ({}) - {}ms", 
-                            test.getId(), test.getName(), queueTime);
-                    
-                    // Send test status update
-                    webSocketService.sendTestStatus(test);
-                    
-                    // Remove test from queue
-                    removeFromQueue(test.getId());
-                }
-            }
+            // Test timed out
+            Map<String, Object> data = new HashMap<>();
+            data.put("error", "Test waited too long in queue");
+            test.updateStatus(TestStatus.TIMEOUT, data);
+            
+            logger.warn("Test timed out: {} ({}) - {}ms", 
+                    test.getId(), test.getName(), queueTime);
+            
+            // Send test status update
+            webSocketService.sendTestStatus(test);
+        }
+        
+        publishRemoved(testId);
+        if (test != null) {
+            retire(test);
         }
     }
     
@@ -357,6 +485,24 @@ public class TestQueueService {
         }
     }
     
+    /**
+     * Test status page class
+     */
+    @Getter
+    public static class TestStatusPage {
+        private final int page;
+        private final int size;
+        private final int totalElements;
+        private final List<TestStatusInfo> content;
+        
+        public TestStatusPage(int page, int size, int totalElements, List<TestStatusInfo> content) {
+            this.page = page;
+            this.size = size;
+            this.totalElements = totalElements;
+            this.content = content;
+        }
+    }
+    
     /**
      * Queued test class
      */
@@ -8,7 +8,7 @@ import com.testautomation.model.enums.TestStatus;
 import com.testautomation.repository.AgentRepository;
 import com.testautomation.repository.TestRepository;
 import com.testautomation.repository.TestResultRepository;
-import com.testautomation.service.runners.TestRunner;
+import com.testautomation.service.runners.ExecutionPlanCache;
 import com.testautomation.service.websocket.WebSocketService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -18,6 +18,7 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,16 +27,33 @@ public class TestService {
 
     private final TestRepository testRepository;
     private final TestResultRepository testResultRepository;
-    private final TestRunner testRunner;
+    private final ExecutionPlanCache executionPlanCache;
     private final WebSocketService webSocketService;
-    private final AgentPoolService agentPoolService;
+    private final TestQueueService testQueueService;
+    private final TestDispatcherService testDispatcherService;
+    private final ScreenshotStore screenshotStore;
 
     public Test createTest(Test test) {
         test.setCreatedAt(LocalDateTime.now());
         test.setStatus(TestStatus.QUEUED);
+        bumpDefinitionVersion(test);
         return testRepository.save(test);
     }
 
+    /**
+     * Var olan bir ID'nin üzerine yazılan tanıma kayıtlı sürümün bir fazlasını ver
+     * İstemcinin gönderdiği sürüm eski tanımınkiyle aynı olabilir; kuyrukta bekleyen eski tanım
+     * planı önbelleğe geri koysa bile sürüm kontrolü yeni tanımın eski planla çalışmasını önler.
+     * @param test Kaydedilecek test
+     */
+    private void bumpDefinitionVersion(Test test) {
+        if (test.getId() == null || test.getId().isEmpty()) {
+            return;
+        }
+        testRepository.findById(test.getId())
+            .ifPresent(stored -> test.setDefinitionVersion(stored.getDefinitionVersion() + 1));
+    }
+
     public List<Test> getAllTests() {
         return testRepository.findAll();
     }
@@ -62,7 +80,8 @@ public class TestService {
             testRepository.save(test);
             webSocketService.sendTestStatus(test);
 
-            return testRunner.runTest(test, agentId);
+            // Agent ve yürütme slotu boşalana kadar dağıtıcıda bekler
+            return testDispatcherService.submit(test, agentId);
         } else {
             CompletableFuture<TestResult> future = new CompletableFuture<>();
             future.completeExceptionally(new RuntimeException("Test not found with ID: " + testId));
@@ -77,6 +96,9 @@ public class TestService {
         // Save the test if it doesn't have an ID
         if (test.getId() == null || test.getId().isEmpty()) {
             test = createTest(test);
+        } else {
+            // İstekle gelen tanım kayıtlı olandan farklı olabilir
+            bumpDefinitionVersion(test);
         }
 
         test.setAgentId(agentId);
@@ -84,7 +106,7 @@ public class TestService {
         testRepository.save(test);
         webSocketService.sendTestStatus(test);
 
-        CompletableFuture<TestResult> future = testRunner.runTest(test, agentId);
+        CompletableFuture<TestResult> future = testDispatcherService.submit(test, agentId);
 
         // Handle async request with callback URL
         if (request.isAsync() && request.getCallbackUrl() != null && !request.getCallbackUrl().isEmpty()) {
@@ -112,7 +134,16 @@ public class TestService {
         testRepository.saveAll(tests);
         tests.forEach(webSocketService::sendTestStatus);
 
-        return testRunner.runTests(tests, agentId);
+        // Testler aynı agent'ı beklediği için sırayla çalışır
+        List<CompletableFuture<TestResult>> futures = new ArrayList<>();
+        for (Test test : tests) {
+            futures.add(testDispatcherService.submit(test, agentId));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .thenApply(v -> futures.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList()));
     }
 
     public Test updateTest(String id, Test updatedTest) {
@@ -131,6 +162,8 @@ public class TestService {
                 test.setMetadata(updatedTest.getMetadata());
                 test.setPreconditions(updatedTest.getPreconditions());
                 test.setExpectedResults(updatedTest.getExpectedResults());
+                // Derlenmiş yürütme planı bir sonraki çalıştırmada yeniden oluşturulur
+                test.setDefinitionVersion(test.getDefinitionVersion() + 1);
 
                 return testRepository.save(test);
             })
@@ -139,6 +172,7 @@ public class TestService {
 
     public void deleteTest(String id) {
         testRepository.deleteById(id);
+        executionPlanCache.invalidate(id);
     }
 
     public Test cancelTest(String id) {
@@ -150,6 +184,10 @@ public class TestService {
                     test.updateStatus(TestStatus.CANCELLED, data);
                     testRepository.save(test);
                     webSocketService.sendTestStatus(test);
+
+                    // Kuyrukta veya agent bekliyorsa çıkar
+                    testQueueService.updateTestStatus(id, TestStatus.CANCELLED, data);
+                    testDispatcherService.cancelPinned(id);
                 }
                 return test;
             })
@@ -160,8 +198,25 @@ public class TestService {
         return testResultRepository.findByTestId(testId);
     }
 
+    /**
+     * Test sonucunu sil ve ekran görüntüsü referanslarını bırak
+     * Başka sonuç tarafından kullanılmayan ekran görüntüsü dosyaları silinir.
+     * @param resultId Test sonucu ID
+     * @return Sonuç bulunup silindiyse true
+     */
+    public boolean deleteResult(String resultId) {
+        Optional<TestResult> result = testResultRepository.findById(resultId);
+        if (result.isEmpty()) {
+            return false;
+        }
+        testResultRepository.deleteById(resultId);
+        screenshotStore.release(result.get().getScreenshots());
+        return true;
+    }
+
     /**
      * Otomatik agent atama ile test çalıştır
+     * Test kuyruğa alınır ve bir agent boşaldığında dağıtıcı tarafından çalıştırılır.
      * @param testId Test ID
      * @return Test sonucu
      */
@@ -171,28 +226,12 @@ public class TestService {
         if (optionalTest.isPresent()) {
             Test test = optionalTest.get();
 
-            // Agent havuzundan boşta bir agent al
-            String agentId = agentPoolService.getIdleAgentId();
-
-            if (agentId != null) {
-                logger.info("Boşta agent bulundu: {}", agentId);
-                return runTest(testId, agentId);
-            } else {
-                // Boşta agent yoksa, testi kuyruğa al
-                logger.info("Boşta agent bulunamadı, test kuyruğa alınıyor: {}", testId);
-                test.updateStatus(TestStatus.QUEUED, Map.of("message", "Waiting for available agent"));
-                testRepository.save(test);
-                webSocketService.sendTestStatus(test);
-
-                // Yeni agent oluşturma isteği gönder
-                agentPoolService.scaleUp();
-
-                // CompletableFuture oluştur ve döndür
-                CompletableFuture<TestResult> future = new CompletableFuture<>();
+            logger.info("Test kuyruğa alınıyor: {}", testId);
+            test.setAgentId(null);
+            test.updateStatus(TestStatus.QUEUED, null);
+            testRepository.save(test);
 
-                // Tamamlanmamış future döndür, test çalıştırıldığında tamamlanacak
-                return future;
-            }
+            return testDispatcherService.submit(test);
         } else {
             CompletableFuture<TestResult> future = new CompletableFuture<>();
             future.completeExceptionally(new RuntimeException("Test not found with ID: " + testId));
@@ -0,0 +1,340 @@
+package com.testautomation.service.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * TimingWheelScheduler
+ * Kuyruk zaman aşımları, çalışma zaman aşımları ve temizlik görevleri için hiyerarşik zamanlayıcı çarkı.
+ * Zamanlama ve iptal O(1) sürede yapılır; tüm zamanlayıcılar tek bir iş parçacığı tarafından ilerletilir.
+ * Yalnızca dolu kovalar DelayQueue'ya girer, bu yüzden boş tik'ler için uyanılmaz.
+ */
+@Service
+public class TimingWheelScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheelScheduler.class);
+
+    @Value("${app.timer.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${app.timer.wheel-size:512}")
+    private int wheelSize;
+
+    private final DelayQueue<TimerBucket> delayQueue = new DelayQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private TimingWheel wheel;
+    private ExecutorService taskExecutor;
+    private Thread reaperThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        wheel = new TimingWheel(tickMs, wheelSize, now());
+        taskExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TimingWheel-Task");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        running = true;
+        reaperThread = new Thread(this::reapLoop, "TimingWheel");
+        reaperThread.setDaemon(true);
+        reaperThread.start();
+        logger.info("Zamanlayıcı çarkı başlatıldı: tick={} ms, boyut={}", tickMs, wheelSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (reaperThread != null) {
+            reaperThread.interrupt();
+        }
+        if (taskExecutor != null) {
+            taskExecutor.shutdownNow();
+        }
+        logger.info("Zamanlayıcı çarkı durduruldu ({} bekleyen görev)", pendingCount.get());
+    }
+
+    /**
+     * Görevi belirtilen gecikmeden sonra çalıştır
+     * @param delayMs Gecikme (ms)
+     * @param task Çalıştırılacak görev
+     * @return Görevi iptal etmek için kullanılan tanıtıcı
+     */
+    public TimerHandle schedule(long delayMs, Runnable task) {
+        // Son tarih bir sonraki tik'e yuvarlanır; görev hiçbir zaman erken çalışmaz
+        long deadline = now() + Math.max(0, delayMs);
+        TimerEntry entry = new TimerEntry(task, ((deadline + tickMs - 1) / tickMs) * tickMs);
+
+        lock.readLock().lock();
+        try {
+            addEntry(entry);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return entry;
+    }
+
+    /**
+     * Bekleyen zamanlayıcı sayısı
+     * @return Bekleyen görev sayısı
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    private void addEntry(TimerEntry entry) {
+        if (!wheel.add(entry) && !entry.isCancelled()) {
+            // Süresi dolmuş, hemen çalıştır
+            taskExecutor.execute(() -> {
+                try {
+                    entry.task.run();
+                } catch (Exception e) {
+                    logger.error("Zamanlanmış görev çalıştırılırken hata oluştu", e);
+                }
+            });
+        }
+    }
+
+    private void reapLoop() {
+        while (running) {
+            try {
+                TimerBucket bucket = delayQueue.poll(200, TimeUnit.MILLISECONDS);
+                if (bucket == null) {
+                    continue;
+                }
+
+                lock.writeLock().lock();
+                try {
+                    while (bucket != null) {
+                        wheel.advanceClock(bucket.getExpiration());
+                        bucket.flush(this::addEntry);
+                        bucket = delayQueue.poll();
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("Zamanlayıcı çarkı ilerletilirken hata oluştu", e);
+            }
+        }
+    }
+
+    private static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    /**
+     * Zamanlanmış bir görevin tanıtıcısı
+     */
+    public interface TimerHandle {
+        /**
+         * Görevi iptal et; görev henüz çalışmadıysa bir daha çalışmaz
+         */
+        void cancel();
+
+        boolean isCancelled();
+    }
+
+    /**
+     * Tek bir seviyedeki çark. Aralığını aşan görevler bir üst (daha kaba) seviyeye taşar.
+     */
+    private class TimingWheel {
+        private final long tick;
+        private final int size;
+        private final long interval;
+        private final TimerBucket[] buckets;
+        private long currentTime;
+        private volatile TimingWheel overflowWheel;
+
+        private TimingWheel(long tick, int size, long startMs) {
+            this.tick = tick;
+            this.size = size;
+            this.interval = tick * size;
+            this.buckets = new TimerBucket[size];
+            for (int i = 0; i < size; i++) {
+                buckets[i] = new TimerBucket(pendingCount);
+            }
+            this.currentTime = startMs - (startMs % tick);
+        }
+
+        private boolean add(TimerEntry entry) {
+            long expiration = entry.expirationMs;
+
+            if (entry.isCancelled()) {
+                return false;
+            }
+            if (expiration < currentTime + tick) {
+                return false;
+            }
+            if (expiration < currentTime + interval) {
+                long virtualId = expiration / tick;
+                TimerBucket bucket = buckets[(int) (virtualId % size)];
+                bucket.add(entry);
+
+                // Kova yeni bir tur için kullanılıyorsa kuyruğa tekrar ekle
+                if (bucket.setExpiration(virtualId * tick)) {
+                    delayQueue.offer(bucket);
+                }
+                return true;
+            }
+
+            return overflowWheel().add(entry);
+        }
+
+        private TimingWheel overflowWheel() {
+            if (overflowWheel == null) {
+                synchronized (this) {
+                    if (overflowWheel == null) {
+                        overflowWheel = new TimingWheel(interval, size, currentTime);
+                    }
+                }
+            }
+            return overflowWheel;
+        }
+
+        private void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tick) {
+                currentTime = timeMs - (timeMs % tick);
+                if (overflowWheel != null) {
+                    overflowWheel.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * Aynı tik aralığında sona eren görevleri tutan çift yönlü bağlı liste
+     */
+    private static class TimerBucket implements Delayed {
+        private final AtomicInteger pendingCount;
+        private final AtomicLong expiration = new AtomicLong(-1L);
+        private final TimerEntry root = new TimerEntry(null, -1L);
+
+        private TimerBucket(AtomicInteger pendingCount) {
+            this.pendingCount = pendingCount;
+            root.next = root;
+            root.prev = root;
+        }
+
+        private boolean setExpiration(long expirationMs) {
+            return expiration.getAndSet(expirationMs) != expirationMs;
+        }
+
+        private long getExpiration() {
+            return expiration.get();
+        }
+
+        private void add(TimerEntry entry) {
+            boolean done = false;
+            while (!done) {
+                // Görev başka bir kovadaysa önce oradan çıkar
+                entry.remove();
+
+                synchronized (this) {
+                    synchronized (entry) {
+                        if (entry.bucket == null) {
+                            TimerEntry tail = root.prev;
+                            entry.next = root;
+                            entry.prev = tail;
+                            entry.bucket = this;
+                            tail.next = entry;
+                            root.prev = entry;
+                            pendingCount.incrementAndGet();
+                            done = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        private synchronized void remove(TimerEntry entry) {
+            synchronized (entry) {
+                if (entry.bucket == this) {
+                    entry.next.prev = entry.prev;
+                    entry.prev.next = entry.next;
+                    entry.next = null;
+                    entry.prev = null;
+                    entry.bucket = null;
+                    pendingCount.decrementAndGet();
+                }
+            }
+        }
+
+        private synchronized void flush(Consumer<TimerEntry> consumer) {
+            TimerEntry head = root.next;
+            while (head != root) {
+                remove(head);
+                consumer.accept(head);
+                head = root.next;
+            }
+            expiration.set(-1L);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(getExpiration() - now(), 0), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getExpiration(), ((TimerBucket) other).getExpiration());
+        }
+    }
+
+    /**
+     * Zamanlanmış görev kaydı
+     */
+    private static class TimerEntry implements TimerHandle {
+        private final Runnable task;
+        private final long expirationMs;
+        private volatile boolean cancelled;
+        private volatile TimerBucket bucket;
+        private TimerEntry next;
+        private TimerEntry prev;
+
+        private TimerEntry(Runnable task, long expirationMs) {
+            this.task = task;
+            this.expirationMs = expirationMs;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            remove();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void remove() {
+            TimerBucket current = bucket;
+            // Görev eşzamanlı olarak taşınıyorsa tekrar dene
+            while (current != null) {
+                current.remove(this);
+                current = bucket;
+            }
+        }
+    }
+}
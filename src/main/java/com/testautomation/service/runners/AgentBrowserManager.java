@@ -0,0 +1,244 @@
+package com.testautomation.service.runners;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import com.testautomation.model.BrowserOptions;
+import com.testautomation.service.core.ExecutionMetrics;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AgentBrowserManager
+ * Her agent için uzun ömürlü bir Playwright örneği ve tarayıcı tipi başına açık bir tarayıcı tutar.
+ * Testler yalnızca yeni bir BrowserContext oluşturur; tarayıcılar belirli sayıda test
+ * veya belirli bir süre sonra yeniden başlatılır.
+ */
+@Service
+@RequiredArgsConstructor
+public class AgentBrowserManager {
+    private static final Logger logger = LoggerFactory.getLogger(AgentBrowserManager.class);
+
+    private final ExecutionMetrics executionMetrics;
+
+    @Value("${app.browser.recycle-after-tests:50}")
+    private int recycleAfterTests;
+
+    @Value("${app.browser.recycle-after-minutes:30}")
+    private long recycleAfterMinutes;
+
+    private final Map<String, AgentBrowserSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Agent'ın tarayıcısını al; gerekirse başlat veya yeniden başlat.
+     * Çağıran, test bittiğinde aynı iş parçacığından {@link #release(String)} çağırmalıdır.
+     * @param agentId Agent ID
+     * @param options Tarayıcı seçenekleri
+     * @param fullScreen Tam ekran modu
+     * @return Kullanıma hazır tarayıcı
+     */
+    public Browser acquire(String agentId, BrowserOptions options, boolean fullScreen) {
+        AgentBrowserSession session = sessions.computeIfAbsent(agentId, AgentBrowserSession::new);
+        session.lock.lock();
+        if (session.retired) {
+            // Agent beklerken kaldırıldı, yeni oturum aç
+            session.lock.unlock();
+            return acquire(agentId, options, fullScreen);
+        }
+
+        try {
+            if (session.shouldRecycle()) {
+                logger.info("Agent tarayıcıları yeniden başlatılıyor: {} ({} test, {} dk)", agentId,
+                        session.testsRun, TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis() - session.startedAt));
+                session.close();
+            }
+            return session.browser(options, fullScreen);
+        } catch (RuntimeException e) {
+            session.close();
+            session.lock.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Agent'ın tarayıcısını serbest bırak
+     * @param agentId Agent ID
+     */
+    public void release(String agentId) {
+        AgentBrowserSession session = sessions.get(agentId);
+        if (session == null || !session.lock.isHeldByCurrentThread()) {
+            return;
+        }
+
+        session.testsRun++;
+        session.lock.unlock();
+    }
+
+    /**
+     * Agent'a ait tüm tarayıcıları ve Playwright örneğini kapat
+     * @param agentId Agent ID
+     */
+    public void closeAgent(String agentId) {
+        AgentBrowserSession session = sessions.remove(agentId);
+        if (session == null) {
+            return;
+        }
+
+        session.lock.lock();
+        try {
+            session.retired = true;
+            session.close();
+            logger.info("Agent tarayıcıları kapatıldı: {}", agentId);
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    /**
+     * Uygulama kapanırken tüm tarayıcıları kapat
+     */
+    @PreDestroy
+    public void closeAll() {
+        for (String agentId : List.copyOf(sessions.keySet())) {
+            closeAgent(agentId);
+        }
+    }
+
+    /**
+     * Tarayıcı başlatma seçeneklerini oluştur
+     * @param options Tarayıcı seçenekleri
+     * @param fullScreen Tam ekran modu
+     * @return Başlatma seçenekleri
+     */
+    static BrowserType.LaunchOptions createLaunchOptions(BrowserOptions options, boolean fullScreen) {
+        BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions()
+            .setHeadless(options.isHeadless());
+
+        // Tam ekran modu için ek argümanlar ekle
+        if (fullScreen && !options.isHeadless()) {
+            // Chromium için
+            if (options.getBrowserType().equalsIgnoreCase("chromium")) {
+                launchOptions.setArgs(List.of(
+                    "--start-maximized",
+                    "--window-size=1920,1080",
+                    "--window-position=0,0",
+                    "--disable-infobars",
+                    "--no-default-browser-check"
+                ));
+            }
+            // Firefox için
+            else if (options.getBrowserType().equalsIgnoreCase("firefox")) {
+                launchOptions.setArgs(List.of(
+                    "--kiosk",
+                    "--width=1920",
+                    "--height=1080"
+                ));
+            }
+            // Webkit için
+            else if (options.getBrowserType().equalsIgnoreCase("webkit")) {
+                launchOptions.setArgs(List.of(
+                    "--window-size=1920,1080"
+                ));
+            }
+        }
+
+        return launchOptions;
+    }
+
+    /**
+     * Bir agent'ın Playwright örneği ve açık tarayıcıları
+     */
+    private class AgentBrowserSession {
+        private final String agentId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Browser> browsers = new HashMap<>();
+        private Playwright playwright;
+        private long startedAt;
+        private int testsRun;
+        private boolean retired;
+
+        private AgentBrowserSession(String agentId) {
+            this.agentId = agentId;
+        }
+
+        private boolean shouldRecycle() {
+            if (playwright == null) {
+                return false;
+            }
+            if (recycleAfterTests > 0 && testsRun >= recycleAfterTests) {
+                return true;
+            }
+            return recycleAfterMinutes > 0 &&
+                System.currentTimeMillis() - startedAt >= TimeUnit.MINUTES.toMillis(recycleAfterMinutes);
+        }
+
+        private Browser browser(BrowserOptions options, boolean fullScreen) {
+            if (playwright == null) {
+                playwright = Playwright.create();
+                startedAt = System.currentTimeMillis();
+                testsRun = 0;
+                logger.info("Playwright oluşturuldu: {}", agentId);
+            }
+
+            String key = options.getBrowserType().toLowerCase() + "|" + options.isHeadless() + "|" + fullScreen;
+            Browser browser = browsers.get(key);
+            if (browser != null && browser.isConnected()) {
+                return browser;
+            }
+
+            BrowserType browserType;
+            switch (options.getBrowserType().toLowerCase()) {
+                case "firefox":
+                    browserType = playwright.firefox();
+                    break;
+                case "webkit":
+                    browserType = playwright.webkit();
+                    break;
+                case "chromium":
+                default:
+                    browserType = playwright.chromium();
+                    break;
+            }
+
+            logger.info("Tarayıcı başlatılıyor: {} (agent: {}, headless: {})",
+                    options.getBrowserType(), agentId, options.isHeadless());
+            BrowserType launcher = browserType;
+            BrowserType.LaunchOptions launchOptions = createLaunchOptions(options, fullScreen);
+            browser = executionMetrics.timeBrowserLaunch(options.getBrowserType(),
+                    () -> launcher.launch(launchOptions));
+            browsers.put(key, browser);
+            return browser;
+        }
+
+        private void close() {
+            for (Browser browser : browsers.values()) {
+                try {
+                    browser.close();
+                } catch (Exception e) {
+                    logger.warn("Tarayıcı kapatılamadı: {} - {}", agentId, e.getMessage());
+                }
+            }
+            browsers.clear();
+
+            if (playwright != null) {
+                try {
+                    playwright.close();
+                } catch (Exception e) {
+                    logger.warn("Playwright kapatılamadı: {} - {}", agentId, e.getMessage());
+                }
+                playwright = null;
+            }
+        }
+    }
+}
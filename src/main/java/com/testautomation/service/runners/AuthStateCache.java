@@ -0,0 +1,255 @@
+package com.testautomation.service.runners;
+
+import com.testautomation.model.AuthStateOptions;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AuthStateCache
+ * Giriş adımlarından sonra kaydedilen tarayıcı depolama durumunu (çerezler, localStorage) testler arasında paylaşır.
+ * Anahtar: oturum adı + temel URL + kimlik bilgisi değişkenlerinin özeti; kimlik bilgileri anahtarda açık tutulmaz.
+ * Kayıtlar süre (TTL) dolunca veya bu durumla başlayan bir test başarısız olunca geçersiz sayılır.
+ * Aynı anahtar için eşzamanlı testlerden yalnızca biri giriş yapar, diğerleri onun kaydını bekler.
+ */
+@Service
+public class AuthStateCache {
+    private static final Logger logger = LoggerFactory.getLogger(AuthStateCache.class);
+
+    @Value("${app.auth-state.ttl:1800000}")
+    private long defaultTtl;
+
+    @Value("${app.auth-state.max-size:100}")
+    private int maxSize;
+
+    @Value("${app.auth-state.login-wait:120000}")
+    private long loginWait;
+
+    private final Map<String, CachedState> states = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> loginLocks = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong loginCount = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    /**
+     * Önbellek anahtarını oluştur
+     * @param options Oturum seçenekleri
+     * @param baseUrl Testin temel URL'i
+     * @param variables Değişkenler
+     * @param dataSet Veri seti
+     * @return Önbellek anahtarı
+     */
+    public String key(AuthStateOptions options, String baseUrl, Map<String, Object> variables, Map<String, Object> dataSet) {
+        // Değişken sırası anahtarı etkilemesin diye adlara göre sıralanır
+        Map<String, String> credentials = new TreeMap<>();
+        if (options.getCredentialVariables() != null) {
+            for (String name : options.getCredentialVariables()) {
+                Object value = variables != null && variables.containsKey(name)
+                    ? variables.get(name)
+                    : dataSet != null ? dataSet.get(name) : null;
+                credentials.put(name, value != null ? value.toString() : "");
+            }
+        }
+
+        return options.getName() + "|" + (baseUrl != null ? baseUrl : "") + "|" + digest(credentials.toString());
+    }
+
+    /**
+     * Kayıtlı depolama durumunu al
+     * @param key Önbellek anahtarı
+     * @return Depolama durumu (JSON) veya kayıt yoksa/süresi dolduysa null
+     */
+    public String get(String key) {
+        CachedState state = states.get(key);
+        if (state == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        if (state.isExpired(System.currentTimeMillis())) {
+            states.remove(key, state);
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return state.storageState;
+    }
+
+    /**
+     * Giriş sonrası depolama durumunu kaydet
+     * @param key Önbellek anahtarı
+     * @param name Oturum adı
+     * @param storageState Depolama durumu (JSON)
+     * @param ttl Geçerlilik süresi (ms, 0 = varsayılan)
+     */
+    public void put(String key, String name, String storageState, long ttl) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + (ttl > 0 ? ttl : defaultTtl);
+        states.put(key, new CachedState(name, storageState, LocalDateTime.now(), expiresAt));
+        loginCount.incrementAndGet();
+        evictIfFull(now);
+        logger.info("Oturum durumu önbelleğe alındı: {}", name);
+    }
+
+    /**
+     * Kaydı geçersiz say
+     * @param key Önbellek anahtarı
+     */
+    public void invalidate(String key) {
+        CachedState removed = states.remove(key);
+        if (removed != null) {
+            invalidationCount.incrementAndGet();
+            logger.info("Oturum durumu geçersiz sayıldı: {}", removed.name);
+        }
+    }
+
+    /**
+     * Belirtilen ada ait tüm kayıtları geçersiz say (tüm temel URL ve kimlik bilgileri için)
+     * @param name Oturum adı
+     * @return Silinen kayıt sayısı
+     */
+    public int invalidateByName(String name) {
+        int removed = 0;
+        for (Map.Entry<String, CachedState> entry : states.entrySet()) {
+            if (entry.getValue().name.equals(name) && states.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        invalidationCount.addAndGet(removed);
+        return removed;
+    }
+
+    /**
+     * Anahtar için giriş kilidini al; aynı anahtarla giriş yapan başka bir test varsa onun bitmesini bekler
+     * @param key Önbellek anahtarı
+     * @return Kilit alındıysa true (sonra {@link #releaseLogin(String)} çağrılmalı), bekleme süresi dolduysa false
+     */
+    public boolean acquireLogin(String key) throws InterruptedException {
+        ReentrantLock lock = loginLocks.computeIfAbsent(key, k -> new ReentrantLock());
+        return lock.tryLock(loginWait, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Giriş kilidini bırak
+     * @param key Önbellek anahtarı
+     */
+    public void releaseLogin(String key) {
+        ReentrantLock lock = loginLocks.get(key);
+        if (lock != null && lock.isHeldByCurrentThread()) {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Önbellek durumunu al
+     * @return Önbellek durumu
+     */
+    public AuthStateStatus getStatus() {
+        long now = System.currentTimeMillis();
+        List<EntryStatus> entries = new ArrayList<>();
+        for (CachedState state : states.values()) {
+            if (!state.isExpired(now)) {
+                entries.add(new EntryStatus(state.name, state.createdAt, state.expiresAt - now));
+            }
+        }
+        entries.sort(Comparator.comparing(EntryStatus::getName));
+
+        return new AuthStateStatus(entries.size(), hitCount.get(), missCount.get(),
+            loginCount.get(), invalidationCount.get(), entries);
+    }
+
+    private void evictIfFull(long now) {
+        if (states.size() <= maxSize) {
+            return;
+        }
+        states.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+
+        // Hâlâ doluysa süresi en erken dolacak kayıtlar atılır
+        while (states.size() > maxSize) {
+            states.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().expiresAt))
+                .ifPresent(entry -> states.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private static String digest(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+
+    private static final class CachedState {
+        private final String name;
+        private final String storageState;
+        private final LocalDateTime createdAt;
+        private final long expiresAt;
+
+        private CachedState(String name, String storageState, LocalDateTime createdAt, long expiresAt) {
+            this.name = name;
+            this.storageState = storageState;
+            this.createdAt = createdAt;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    @Getter
+    public static class AuthStateStatus {
+        private final int size;
+        private final long hitCount;
+        private final long missCount;
+        private final long loginCount;
+        private final long invalidationCount;
+        private final List<EntryStatus> entries;
+
+        public AuthStateStatus(int size, long hitCount, long missCount, long loginCount, long invalidationCount,
+                               List<EntryStatus> entries) {
+            this.size = size;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.loginCount = loginCount;
+            this.invalidationCount = invalidationCount;
+            this.entries = entries;
+        }
+    }
+
+    @Getter
+    public static class EntryStatus {
+        private final String name;
+        private final LocalDateTime createdAt;
+        private final long remainingTtl;
+
+        public EntryStatus(String name, LocalDateTime createdAt, long remainingTtl) {
+            this.name = name;
+            this.createdAt = createdAt;
+            this.remainingTtl = remainingTtl;
+        }
+    }
+}
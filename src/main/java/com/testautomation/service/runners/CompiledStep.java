@@ -0,0 +1,119 @@
+package com.testautomation.service.runners;
+
+import com.testautomation.model.TestStep;
+import com.testautomation.model.TestStepOptions;
+import com.testautomation.model.enums.SelectorStrategy;
+import com.testautomation.model.enums.TestActionType;
+
+import java.util.Map;
+
+/**
+ * Derlenmiş test adımı
+ * Aksiyon türü, seçici stratejisi ve değişken şablonları bir kez çözülür.
+ * Hedefte değişken yoksa seçici de önceden oluşturulur; çalıştırma sırasında yalnızca değişkenler bağlanır.
+ */
+public final class CompiledStep {
+    private final String action;
+    private final TestActionType actionType;
+    private final String strategy;
+    private final SelectorStrategy selectorStrategy;
+    private final VariableTemplate target;
+    private final VariableTemplate value;
+    private final String selector;
+    private final String description;
+    private final TestStepOptions options;
+    private final String attribute;
+
+    private CompiledStep(TestStep step) {
+        this.action = step.getAction();
+        this.actionType = resolveActionType(action);
+        this.strategy = step.getStrategy();
+        this.selectorStrategy = ElementUtils.resolveStrategy(strategy);
+        this.target = VariableTemplate.compile(step.getTarget());
+        this.value = VariableTemplate.compile(step.getValue());
+        this.selector = target != null && target.isConstant() && !target.getSource().isEmpty()
+            ? ElementUtils.buildSelector(target.getSource(), selectorStrategy)
+            : null;
+        this.description = step.getDescription();
+        this.options = step.getStepOptions();
+
+        Object attributeName = step.getAdditionalProperties() != null
+            ? step.getAdditionalProperties().get("attribute")
+            : null;
+        this.attribute = attributeName != null ? attributeName.toString() : null;
+    }
+
+    /**
+     * Test adımını derle
+     * @param step Test adımı
+     * @return Derlenmiş adım
+     */
+    public static CompiledStep compile(TestStep step) {
+        return new CompiledStep(step);
+    }
+
+    private static TestActionType resolveActionType(String action) {
+        if (action == null) {
+            return null;
+        }
+        try {
+            return TestActionType.fromString(action.toLowerCase());
+        } catch (IllegalArgumentException e) {
+            // Desteklenmeyen aksiyon çalıştırma sırasında adım hatası olarak raporlanır
+            return null;
+        }
+    }
+
+    /**
+     * Hedefi değişkenlerle bağla
+     */
+    public String bindTarget(Map<String, Object> variables, Map<String, Object> dataSet) {
+        return target != null ? target.render(variables, dataSet) : null;
+    }
+
+    /**
+     * Değeri değişkenlerle bağla
+     */
+    public String bindValue(Map<String, Object> variables, Map<String, Object> dataSet) {
+        return value != null ? value.render(variables, dataSet) : null;
+    }
+
+    /**
+     * Bağlanmış hedef için seçiciyi al (sabit hedeflerde önceden oluşturulan seçici kullanılır)
+     * @param boundTarget Bağlanmış hedef
+     * @return Seçici
+     */
+    public String selectorFor(String boundTarget) {
+        if (selector != null) {
+            return selector;
+        }
+        return ElementUtils.buildSelector(boundTarget, selectorStrategy);
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * Aksiyon türü veya desteklenmiyorsa null
+     */
+    public TestActionType getActionType() {
+        return actionType;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TestStepOptions getOptions() {
+        return options;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+}
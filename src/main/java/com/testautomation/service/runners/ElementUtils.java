@@ -2,16 +2,17 @@ package com.testautomation.service.runners;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
-import com.microsoft.playwright.options.WaitForSelectorState;
 import com.testautomation.model.enums.SelectorStrategy;
-import com.testautomation.model.enums.WaitCondition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.regex.Pattern;
+
 @Component
 public class ElementUtils {
     private static final Logger logger = LoggerFactory.getLogger(ElementUtils.class);
+    private static final Pattern NAME_SELECTOR_PATTERN = Pattern.compile("\\[name=['\"](.*?)['\"]\\]");
 
     /**
      * Seçici oluştur
@@ -20,20 +21,35 @@ public class ElementUtils {
      * @return Oluşturulan seçici
      */
     public static String getSelector(String target, String strategy) {
-        if (target == null || target.isEmpty()) {
-            throw new IllegalArgumentException("Hedef element belirtilmemiş");
-        }
+        return buildSelector(target, resolveStrategy(strategy));
+    }
 
-        SelectorStrategy selectorStrategy;
+    /**
+     * Seçim stratejisini çözümle (boş veya geçersizse CSS)
+     * @param strategy Seçim stratejisi
+     * @return Seçici stratejisi
+     */
+    public static SelectorStrategy resolveStrategy(String strategy) {
+        if (strategy == null || strategy.isEmpty()) {
+            return SelectorStrategy.CSS;
+        }
         try {
-            if (strategy == null || strategy.isEmpty()) {
-                selectorStrategy = SelectorStrategy.CSS;
-            } else {
-                selectorStrategy = SelectorStrategy.valueOf(strategy.toUpperCase());
-            }
+            return SelectorStrategy.valueOf(strategy.toUpperCase());
         } catch (IllegalArgumentException e) {
             logger.warn("Geçersiz seçici stratejisi: {}. CSS kullanılacak.", strategy);
-            selectorStrategy = SelectorStrategy.CSS;
+            return SelectorStrategy.CSS;
+        }
+    }
+
+    /**
+     * Çözümlenmiş strateji ile seçici oluştur
+     * @param target Hedef element
+     * @param selectorStrategy Seçici stratejisi
+     * @return Oluşturulan seçici
+     */
+    public static String buildSelector(String target, SelectorStrategy selectorStrategy) {
+        if (target == null || target.isEmpty()) {
+            throw new IllegalArgumentException("Hedef element belirtilmemiş");
         }
 
         String selector;
@@ -56,7 +72,7 @@ public class ElementUtils {
                 break;
             case NAME:
                 // Eğer hedef zaten [name='...'] formatındaysa, olduğu gibi kullan
-                if (target.matches("\\[name=['\"](.*?)['\"]\\]")) {
+                if (NAME_SELECTOR_PATTERN.matcher(target).matches()) {
                     selector = target;
                 } else {
                     selector = "[name='" + target + "']";
@@ -81,18 +97,12 @@ public class ElementUtils {
     }
 
     /**
-     * Elementi bul
+     * Önceden oluşturulmuş seçici ile elementi bul
      * @param page Playwright sayfası
-     * @param target Hedef element
-     * @param strategy Seçim stratejisi
+     * @param selector Seçici
      * @return Bulunan element
      */
-    public static Locator findElement(Page page, String target, String strategy) {
-        if (target == null || target.isEmpty()) {
-            throw new IllegalArgumentException("Hedef element belirtilmemiş");
-        }
-
-        String selector = getSelector(target, strategy);
+    public static Locator locate(Page page, String selector) {
         logger.debug("Element aranıyor: {}", selector);
 
         try {
@@ -105,14 +115,12 @@ public class ElementUtils {
 
     /**
      * Elementi bul ve tıkla
-     * @param page Playwright sayfası
-     * @param target Hedef element
-     * @param strategy Seçim stratejisi
+     * @param locator Element konumlayıcı
      */
-    public static void findAndClick(Page page, String target, String strategy) {
-        logger.debug("Elemente tıklanıyor: {} (strateji: {})", target, strategy);
+    public static void findAndClick(Locator locator) {
+        logger.debug("Elemente tıklanıyor: {}", locator);
         try {
-            findElement(page, target, strategy).click();
+            locator.click();
             logger.debug("Elemente başarıyla tıklandı");
         } catch (Exception e) {
             logger.error("Elemente tıklarken hata oluştu: {}", e.getMessage());
@@ -122,15 +130,13 @@ public class ElementUtils {
 
     /**
      * Elementi bul ve metin yaz
-     * @param page Playwright sayfası
-     * @param target Hedef element
-     * @param strategy Seçim stratejisi
+     * @param locator Element konumlayıcı
      * @param value Yazılacak metin
      */
-    public static void findAndType(Page page, String target, String strategy, String value) {
-        logger.debug("Elemente metin yazılıyor: {} (strateji: {}), değer: {}", target, strategy, value);
+    public static void findAndType(Locator locator, String value) {
+        logger.debug("Elemente metin yazılıyor: {}, değer: {}", locator, value);
         try {
-            findElement(page, target, strategy).fill(value);
+            locator.fill(value);
             logger.debug("Elemente başarıyla metin yazıldı");
         } catch (Exception e) {
             logger.error("Elemente metin yazarken hata oluştu: {}", e.getMessage());
@@ -140,15 +146,13 @@ public class ElementUtils {
 
     /**
      * Elementi bul ve seç
-     * @param page Playwright sayfası
-     * @param target Hedef element
-     * @param strategy Seçim stratejisi
+     * @param locator Element konumlayıcı
      * @param value Seçilecek değer
      */
-    public static void findAndSelect(Page page, String target, String strategy, String value) {
-        logger.debug("Elementten seçim yapılıyor: {} (strateji: {}), değer: {}", target, strategy, value);
+    public static void findAndSelect(Locator locator, String value) {
+        logger.debug("Elementten seçim yapılıyor: {}, değer: {}", locator, value);
         try {
-            findElement(page, target, strategy).selectOption(value);
+            locator.selectOption(value);
             logger.debug("Elementten başarıyla seçim yapıldı");
         } catch (Exception e) {
             logger.error("Elementten seçim yaparken hata oluştu: {}", e.getMessage());
@@ -158,15 +162,13 @@ public class ElementUtils {
 
     /**
      * Element için bekle
-     * @param page Playwright sayfası
-     * @param target Hedef element
-     * @param strategy Seçim stratejisi
+     * @param locator Element konumlayıcı
      * @param timeout Zaman aşımı
      */
-    public static void waitForElement(Page page, String target, String strategy, int timeout) {
-        logger.debug("Element için bekleniyor: {} (strateji: {}), timeout: {}", target, strategy, timeout);
+    public static void waitForElement(Locator locator, int timeout) {
+        logger.debug("Element için bekleniyor: {}, timeout: {}", locator, timeout);
         try {
-            findElement(page, target, strategy).waitFor(new Locator.WaitForOptions().setTimeout(timeout));
+            locator.waitFor(new Locator.WaitForOptions().setTimeout(timeout));
             logger.debug("Element başarıyla beklendi");
         } catch (Exception e) {
             logger.error("Element beklenirken hata oluştu: {}", e.getMessage());
@@ -176,15 +178,13 @@ public class ElementUtils {
 
     /**
      * Metni doğrula
-     * @param page Playwright sayfası
-     * @param target Hedef element
-     * @param strategy Seçim stratejisi
+     * @param locator Element konumlayıcı
      * @param expectedText Beklenen metin
      */
-    public static void verifyText(Page page, String target, String strategy, String expectedText) {
-        logger.debug("Metin doğrulanıyor: {} (strateji: {}), beklenen: {}", target, strategy, expectedText);
+    public static void verifyText(Locator locator, String expectedText) {
+        logger.debug("Metin doğrulanıyor: {}, beklenen: {}", locator, expectedText);
         try {
-            String actualText = findElement(page, target, strategy).textContent();
+            String actualText = locator.textContent();
             if (!actualText.contains(expectedText)) {
                 String errorMsg = "Metin doğrulama başarısız: Beklenen '" + expectedText + "', Alınan '" + actualText + "'";
                 logger.error(errorMsg);
@@ -220,14 +220,12 @@ public class ElementUtils {
 
     /**
      * Elemente hover yap
-     * @param page Playwright sayfası
-     * @param target Hedef element
-     * @param strategy Seçim stratejisi
+     * @param locator Element konumlayıcı
      */
-    public static void hover(Page page, String target, String strategy) {
-        logger.debug("Elemente hover yapılıyor: {} (strateji: {})", target, strategy);
+    public static void hover(Locator locator) {
+        logger.debug("Elemente hover yapılıyor: {}", locator);
         try {
-            findElement(page, target, strategy).hover();
+            locator.hover();
             logger.debug("Elemente başarıyla hover yapıldı");
         } catch (Exception e) {
             logger.error("Elemente hover yaparken hata oluştu: {}", e.getMessage());
@@ -237,14 +235,12 @@ public class ElementUtils {
 
     /**
      * Elemente çift tıkla
-     * @param page Playwright sayfası
-     * @param target Hedef element
-     * @param strategy Seçim stratejisi
+     * @param locator Element konumlayıcı
      */
-    public static void doubleClick(Page page, String target, String strategy) {
-        logger.debug("Elemente çift tıklanıyor: {} (strateji: {})", target, strategy);
+    public static void doubleClick(Locator locator) {
+        logger.debug("Elemente çift tıklanıyor: {}", locator);
         try {
-            findElement(page, target, strategy).dblclick();
+            locator.dblclick();
             logger.debug("Elemente başarıyla çift tıklandı");
         } catch (Exception e) {
             logger.error("Elemente çift tıklarken hata oluştu: {}", e.getMessage());
@@ -254,14 +250,12 @@ public class ElementUtils {
 
     /**
      * Elemente sağ tıkla
-     * @param page Playwright sayfası
-     * @param target Hedef element
-     * @param strategy Seçim stratejisi
+     * @param locator Element konumlayıcı
      */
-    public static void rightClick(Page page, String target, String strategy) {
-        logger.debug("Elemente sağ tıklanıyor: {} (strateji: {})", target, strategy);
+    public static void rightClick(Locator locator) {
+        logger.debug("Elemente sağ tıklanıyor: {}", locator);
         try {
-            findElement(page, target, strategy).click(new Locator.ClickOptions().setButton(com.microsoft.playwright.options.MouseButton.RIGHT));
+            locator.click(new Locator.ClickOptions().setButton(com.microsoft.playwright.options.MouseButton.RIGHT));
             logger.debug("Elemente başarıyla sağ tıklandı");
         } catch (Exception e) {
             logger.error("Elemente sağ tıklarken hata oluştu: {}", e.getMessage());
@@ -271,14 +265,12 @@ public class ElementUtils {
 
     /**
      * Checkbox'ı işaretle
-     * @param page Playwright sayfası
-     * @param target Hedef element
-     * @param strategy Seçim stratejisi
+     * @param locator Element konumlayıcı
      */
-    public static void check(Page page, String target, String strategy) {
-        logger.debug("Checkbox işaretleniyor: {} (strateji: {})", target, strategy);
+    public static void check(Locator locator) {
+        logger.debug("Checkbox işaretleniyor: {}", locator);
         try {
-            findElement(page, target, strategy).check();
+            locator.check();
             logger.debug("Checkbox başarıyla işaretlendi");
         } catch (Exception e) {
             logger.error("Checkbox işaretlenirken hata oluştu: {}", e.getMessage());
@@ -288,14 +280,12 @@ public class ElementUtils {
 
     /**
      * Checkbox'ın işaretini kaldır
-     * @param page Playwright sayfası
-     * @param target Hedef element
-     * @param strategy Seçim stratejisi
+     * @param locator Element konumlayıcı
      */
-    public static void uncheck(Page page, String target, String strategy) {
-        logger.debug("Checkbox'ın işareti kaldırılıyor: {} (strateji: {})", target, strategy);
+    public static void uncheck(Locator locator) {
+        logger.debug("Checkbox'ın işareti kaldırılıyor: {}", locator);
         try {
-            findElement(page, target, strategy).uncheck();
+            locator.uncheck();
             logger.debug("Checkbox'ın işareti başarıyla kaldırıldı");
         } catch (Exception e) {
             logger.error("Checkbox'ın işareti kaldırılırken hata oluştu: {}", e.getMessage());
@@ -305,14 +295,12 @@ public class ElementUtils {
 
     /**
      * Elemente odaklan
-     * @param page Playwright sayfası
-     * @param target Hedef element
-     * @param strategy Seçim stratejisi
+     * @param locator Element konumlayıcı
      */
-    public static void focus(Page page, String target, String strategy) {
-        logger.debug("Elemente odaklanılıyor: {} (strateji: {})", target, strategy);
+    public static void focus(Locator locator) {
+        logger.debug("Elemente odaklanılıyor: {}", locator);
         try {
-            findElement(page, target, strategy).focus();
+            locator.focus();
             logger.debug("Elemente başarıyla odaklanıldı");
         } catch (Exception e) {
             logger.error("Elemente odaklanılırken hata oluştu: {}", e.getMessage());
@@ -322,14 +310,12 @@ public class ElementUtils {
 
     /**
      * Elementi görünür alana kaydır
-     * @param page Playwright sayfası
-     * @param target Hedef element
-     * @param strategy Seçim stratejisi
+     * @param locator Element konumlayıcı
      */
-    public static void scrollIntoView(Page page, String target, String strategy) {
-        logger.debug("Element görünür alana kaydırılıyor: {} (strateji: {})", target, strategy);
+    public static void scrollIntoView(Locator locator) {
+        logger.debug("Element görünür alana kaydırılıyor: {}", locator);
         try {
-            findElement(page, target, strategy).scrollIntoViewIfNeeded();
+            locator.scrollIntoViewIfNeeded();
             logger.debug("Element başarıyla görünür alana kaydırıldı");
         } catch (Exception e) {
             logger.error("Element görünür alana kaydırılırken hata oluştu: {}", e.getMessage());
@@ -354,81 +340,4 @@ public class ElementUtils {
             throw e;
         }
     }
-
-    /**
-     * Belirli bir koşul için dinamik bekleme
-     * @param page Playwright sayfası
-     * @param target Hedef element
-     * @param strategy Seçim stratejisi
-     * @param condition Bekleme koşulu
-     * @param value Koşul için değer (opsiyonel)
-     * @param timeout Zaman aşımı (ms)
-     */
-    public static void waitForCondition(Page page, String target, String strategy, WaitCondition condition, String value, int timeout) {
-        logger.debug("Koşul için bekleniyor: {} (strateji: {}), koşul: {}, değer: {}, timeout: {}",
-                target, strategy, condition, value, timeout);
-
-        try {
-            String selector = getSelector(target, strategy);
-
-            switch (condition) {
-                case VISIBLE:
-                    page.waitForSelector(selector, new Page.WaitForSelectorOptions()
-                            .setState(WaitForSelectorState.VISIBLE)
-                            .setTimeout(timeout));
-                    break;
-                case HIDDEN:
-                    page.waitForSelector(selector, new Page.WaitForSelectorOptions()
-                            .setState(WaitForSelectorState.HIDDEN)
-                            .setTimeout(timeout));
-                    break;
-                case ENABLED:
-                    // Playwright doğrudan enabled state'i desteklemediği için JavaScript ile kontrol ediyoruz
-                    page.waitForFunction("() => !document.querySelector('" + selector.replace("'", "\\'") +
-                            "').disabled", new Page.WaitForFunctionOptions().setTimeout(timeout));
-                    break;
-                case DISABLED:
-                    // Playwright doğrudan disabled state'i desteklemediği için JavaScript ile kontrol ediyoruz
-                    page.waitForFunction("() => document.querySelector('" + selector.replace("'", "\\'") +
-                            "').disabled === true", new Page.WaitForFunctionOptions().setTimeout(timeout));
-                    break;
-                case PRESENT:
-                    page.waitForSelector(selector, new Page.WaitForSelectorOptions()
-                            .setState(WaitForSelectorState.ATTACHED)
-                            .setTimeout(timeout));
-                    break;
-                case URL_CONTAINS:
-                    if (value == null || value.isEmpty()) {
-                        throw new IllegalArgumentException("URL_CONTAINS koşulu için değer gereklidir");
-                    }
-                    page.waitForURL("**" + value + "**", new Page.WaitForURLOptions().setTimeout(timeout));
-                    break;
-                case URL_EQUALS:
-                    if (value == null || value.isEmpty()) {
-                        throw new IllegalArgumentException("URL_EQUALS koşulu için değer gereklidir");
-                    }
-                    page.waitForURL(value, new Page.WaitForURLOptions().setTimeout(timeout));
-                    break;
-                case TEXT_CONTAINS:
-                    if (value == null || value.isEmpty()) {
-                        throw new IllegalArgumentException("TEXT_CONTAINS koşulu için değer gereklidir");
-                    }
-                    page.waitForFunction("() => document.querySelector('" + selector.replace("'", "\\'") +
-                            "').textContent.includes('" + value.replace("'", "\\'") + "')",
-                            new Page.WaitForFunctionOptions().setTimeout(timeout));
-                    break;
-                case PAGE_LOAD:
-                    page.waitForLoadState(com.microsoft.playwright.options.LoadState.LOAD,
-                            new Page.WaitForLoadStateOptions().setTimeout(timeout));
-                    break;
-                default:
-                    throw new IllegalArgumentException("Desteklenmeyen bekleme koşulu: " + condition);
-            }
-
-            logger.debug("Koşul başarıyla beklendi");
-        } catch (Exception e) {
-            logger.error("Koşul beklenirken hata oluştu: {}", e.getMessage());
-            throw e;
-        }
-    }
 }
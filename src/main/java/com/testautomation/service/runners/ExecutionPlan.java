@@ -0,0 +1,70 @@
+package com.testautomation.service.runners;
+
+import com.testautomation.model.Test;
+import com.testautomation.model.TestStep;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bir test tanımının derlenmiş, değişmez yürütme planı
+ * Test tanımı sürümü başına bir kez oluşturulur ve tekrar denemeler dahil tüm çalıştırmalarda paylaşılır.
+ */
+public final class ExecutionPlan {
+    private final String testId;
+    private final long definitionVersion;
+    private final List<CompiledStep> steps;
+
+    private ExecutionPlan(String testId, long definitionVersion, List<CompiledStep> steps) {
+        this.testId = testId;
+        this.definitionVersion = definitionVersion;
+        this.steps = steps;
+    }
+
+    /**
+     * Testin adımlarını derle
+     * @param test Test
+     * @return Yürütme planı
+     */
+    public static ExecutionPlan compile(Test test) {
+        return new ExecutionPlan(test.getId(), test.getDefinitionVersion(), compileSteps(test.getSteps()));
+    }
+
+    /**
+     * Adım listesini derle (sürüm bilgisi olmadan)
+     * @param steps Test adımları
+     * @return Yürütme planı
+     */
+    public static ExecutionPlan compile(List<TestStep> steps) {
+        return new ExecutionPlan(null, 0, compileSteps(steps));
+    }
+
+    private static List<CompiledStep> compileSteps(List<TestStep> steps) {
+        if (steps == null || steps.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<CompiledStep> compiled = new ArrayList<>(steps.size());
+        for (TestStep step : steps) {
+            compiled.add(CompiledStep.compile(step));
+        }
+        return Collections.unmodifiableList(compiled);
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public long getDefinitionVersion() {
+        return definitionVersion;
+    }
+
+    public List<CompiledStep> getSteps() {
+        return steps;
+    }
+
+    public int size() {
+        return steps.size();
+    }
+}
@@ -0,0 +1,72 @@
+package com.testautomation.service.runners;
+
+import com.testautomation.model.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ExecutionPlanCache
+ * Derlenmiş yürütme planlarını test ID'si ve tanım sürümüne göre önbellekte tutar.
+ * Test güncellendiğinde sürüm artar ve plan bir sonraki çalıştırmada yeniden derlenir.
+ */
+@Service
+public class ExecutionPlanCache {
+
+    @Value("${app.execution.plan-cache-size:500}")
+    private int maxSize;
+
+    private Map<String, ExecutionPlan> plans;
+
+    @PostConstruct
+    public void initialize() {
+        plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExecutionPlan> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Testin yürütme planını al; önbellekte yoksa veya sürüm değiştiyse derle
+     * @param test Test
+     * @return Yürütme planı
+     */
+    public ExecutionPlan getPlan(Test test) {
+        if (test.getId() == null) {
+            return ExecutionPlan.compile(test);
+        }
+
+        synchronized (this) {
+            ExecutionPlan plan = plans.get(test.getId());
+            if (plan != null && plan.getDefinitionVersion() == test.getDefinitionVersion()) {
+                return plan;
+            }
+        }
+
+        // Derleme kilit dışında yapılır; aynı anda derlenen planlardan sonuncusu kalır
+        ExecutionPlan plan = ExecutionPlan.compile(test);
+        synchronized (this) {
+            plans.put(test.getId(), plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Testin önbellekteki planını sil
+     * @param testId Test ID
+     */
+    public synchronized void invalidate(String testId) {
+        if (testId != null) {
+            plans.remove(testId);
+        }
+    }
+
+    public synchronized int size() {
+        return plans.size();
+    }
+}
@@ -0,0 +1,214 @@
+package com.testautomation.service.runners;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Route;
+import com.microsoft.playwright.options.HarNotFound;
+import com.testautomation.model.BrowserOptions;
+import com.testautomation.model.Test;
+import com.testautomation.model.enums.HarMissPolicy;
+import com.testautomation.model.enums.HarMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+/**
+ * HarArchiveService
+ * Test ağ trafiğini raporlar dizini altındaki "har" klasörüne HAR arşivi olarak kaydeder ve
+ * sonraki çalıştırmalarda istekleri bu arşivden yanıtlar. Her şey yerel dosyalarla çalışır.
+ * Kayıt geçici bir dosyaya yapılır; yalnızca başarılı çalıştırmalarda arşivin yerine taşınır.
+ */
+@Service
+public class HarArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(HarArchiveService.class);
+
+    @Autowired
+    @Qualifier("reportsDir")
+    private String reportsDir;
+
+    /**
+     * Test için HAR oturumu aç
+     * @param test Test
+     * @return HAR oturumu veya HAR kapalıysa null
+     */
+    public HarSession open(Test test) {
+        BrowserOptions options = test.getBrowserOptions();
+        if (options.getHarMode() == null || options.getHarMode() == HarMode.OFF) {
+            return null;
+        }
+
+        String name = options.getHarName() != null && !options.getHarName().isEmpty()
+            ? options.getHarName()
+            : test.getId();
+        if (name == null) {
+            logger.warn("HAR arşivi için ad belirlenemedi (test ID yok), HAR devre dışı");
+            return null;
+        }
+
+        Path archive = archivePath(name);
+        boolean replay = options.getHarMode() == HarMode.REPLAY && Files.exists(archive);
+        if (options.getHarMode() == HarMode.REPLAY && !replay) {
+            logger.info("HAR arşivi bulunamadı, çalıştırma kaydedilecek: {}", archive);
+        }
+
+        return new HarSession(archive, replay, options.getHarMissPolicy(), options.getHarUrlFilter());
+    }
+
+    /**
+     * Arşiv dosyasının yolu
+     * @param name Arşiv adı
+     * @return Arşiv yolu
+     */
+    public Path archivePath(String name) {
+        String safeName = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        return Paths.get(reportsDir, "har", safeName + ".zip");
+    }
+
+    /**
+     * Arşivi sil
+     * @param name Arşiv adı
+     * @return Arşiv silindiyse true
+     */
+    public boolean deleteArchive(String name) {
+        try {
+            return Files.deleteIfExists(archivePath(name));
+        } catch (IOException e) {
+            logger.warn("HAR arşivi silinemedi: {} - {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Tek bir test çalıştırmasının HAR kaydı veya tekrar oynatması
+     */
+    public static final class HarSession {
+        private final Path archive;
+        private final boolean replay;
+        private final HarMissPolicy missPolicy;
+        private final String urlFilter;
+        private Path recording;
+        private boolean recordingValid = true;
+        private long misses;
+
+        private HarSession(Path archive, boolean replay, HarMissPolicy missPolicy, String urlFilter) {
+            this.archive = archive;
+            this.replay = replay;
+            this.missPolicy = missPolicy != null ? missPolicy : HarMissPolicy.FAIL;
+            this.urlFilter = urlFilter != null && !urlFilter.isEmpty() ? urlFilter : null;
+        }
+
+        /**
+         * Kayıt modunda bağlam seçeneklerine geçici HAR yolunu ekle
+         * @param contextOptions Bağlam seçenekleri
+         */
+        public void configure(Browser.NewContextOptions contextOptions) throws IOException {
+            if (replay) {
+                return;
+            }
+            Files.createDirectories(archive.getParent());
+            // .zip uzantısı yanıt gövdelerinin arşive ayrı dosyalar olarak eklenmesini sağlar
+            recording = archive.resolveSibling(archive.getFileName() + "." + UUID.randomUUID() + ".zip");
+            contextOptions.setRecordHarPath(recording);
+            if (urlFilter != null) {
+                contextOptions.setRecordHarUrlFilter(urlFilter);
+            }
+        }
+
+        /**
+         * Tekrar oynatma modunda arşiv yönlendirmelerini bağlama ekle
+         * @param context Tarayıcı bağlamı
+         */
+        public void install(BrowserContext context) {
+            if (!replay) {
+                return;
+            }
+
+            // Arşivde olmayan istekler bu yönlendiriciye düşer (sonra eklenen yönlendirici önce çalışır)
+            context.route(urlFilter != null ? urlFilter : "**/*", this::handleMiss);
+
+            BrowserContext.RouteFromHAROptions harOptions = new BrowserContext.RouteFromHAROptions()
+                .setNotFound(HarNotFound.FALLBACK);
+            if (urlFilter != null) {
+                harOptions.setUrl(urlFilter);
+            }
+            context.routeFromHAR(archive, harOptions);
+        }
+
+        private void handleMiss(Route route) {
+            misses++;
+            switch (missPolicy) {
+                case PASSTHROUGH:
+                    route.fallback();
+                    break;
+                case NOT_FOUND:
+                    route.fulfill(new Route.FulfillOptions().setStatus(404));
+                    break;
+                case FAIL:
+                default:
+                    logger.warn("HAR arşivinde bulunamayan istek: {} {}", route.request().method(), route.request().url());
+                    route.abort();
+                    break;
+            }
+        }
+
+        /**
+         * Kaydı geçersiz say (ör. çalıştırma kontrol noktasından yeni bir bağlamla devam ettiğinde)
+         * @param contextOptions Sonraki bağlamlar için kullanılacak seçenekler
+         */
+        public void invalidateRecording(Browser.NewContextOptions contextOptions) {
+            if (recording != null) {
+                recordingValid = false;
+                contextOptions.setRecordHarPath(null);
+            }
+        }
+
+        /**
+         * Bağlam kapatıldıktan sonra çağrılır; başarılı kayıt arşivin yerine taşınır, diğerleri silinir
+         * @param success Çalıştırma başarılı mı
+         */
+        public void finish(boolean success) {
+            if (recording == null) {
+                return;
+            }
+
+            try {
+                if (success && recordingValid && Files.exists(recording)) {
+                    Files.move(recording, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    logger.info("HAR arşivi kaydedildi: {}", archive);
+                } else {
+                    Files.deleteIfExists(recording);
+                }
+            } catch (IOException e) {
+                logger.warn("HAR kaydı işlenemedi: {} - {}", recording, e.getMessage());
+            }
+        }
+
+        public boolean isReplay() {
+            return replay;
+        }
+
+        public boolean isRecording() {
+            return recording != null;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * Arşivde bulunmayan istekler testi başarısız kılıyorsa true
+         */
+        public boolean hasFailingMisses() {
+            return replay && missPolicy == HarMissPolicy.FAIL && misses > 0;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.testautomation.service.runners;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import com.testautomation.model.NetworkProfile;
+import com.testautomation.model.TestResult;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Ağ profili yönlendiricisi
+ * Test bağlamındaki istekleri kaynak türü, URL deseni ve birinci taraf kuralına göre engeller.
+ * Engellenen istekler toplamda ve kaynak türü başına sayılır. Engellenen istek indirilmediği için
+ * boyutu bilinmez; bu yüzden tasarruf edilen boyut raporlanmaz.
+ */
+public final class NetworkRouteHandler {
+    private final Set<String> blockedResourceTypes;
+    private final List<Pattern> blockedUrlPatterns;
+    private final boolean firstPartyOnly;
+    private final List<String> allowedHosts;
+    private String firstPartyHost;
+
+    private long blockedRequestCount;
+    private final Map<String, Long> blockedRequestsByType = new HashMap<>();
+
+    private NetworkRouteHandler(NetworkProfile profile, String baseUrl) {
+        this.blockedResourceTypes = new HashSet<>();
+        if (profile.getBlockedResourceTypes() != null) {
+            for (String type : profile.getBlockedResourceTypes()) {
+                blockedResourceTypes.add(type.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        this.blockedUrlPatterns = new ArrayList<>();
+        if (profile.getBlockedUrlPatterns() != null) {
+            for (String glob : profile.getBlockedUrlPatterns()) {
+                blockedUrlPatterns.add(globToPattern(glob));
+            }
+        }
+
+        this.firstPartyOnly = profile.isFirstPartyOnly();
+        this.allowedHosts = new ArrayList<>();
+        if (profile.getAllowedHosts() != null) {
+            for (String host : profile.getAllowedHosts()) {
+                allowedHosts.add(normalizeHost(host));
+            }
+        }
+        this.firstPartyHost = baseUrl != null ? normalizeHost(hostOf(baseUrl)) : null;
+    }
+
+    /**
+     * Profil için yönlendirici oluştur
+     * @param profile Ağ profili
+     * @param baseUrl Testin temel URL'i (birinci taraf alan adı için)
+     * @return Yönlendirici veya profilde kural yoksa null
+     */
+    public static NetworkRouteHandler create(NetworkProfile profile, String baseUrl) {
+        if (profile == null || !profile.hasRules()) {
+            return null;
+        }
+        return new NetworkRouteHandler(profile, baseUrl);
+    }
+
+    /**
+     * Yönlendirmeyi bağlama uygula
+     * @param context Tarayıcı bağlamı
+     */
+    public void install(BrowserContext context) {
+        context.route("**/*", this::handle);
+    }
+
+    /**
+     * Sayaçları test sonucuna yaz
+     * @param result Test sonucu
+     */
+    public void writeTo(TestResult result) {
+        result.setBlockedRequestCount(blockedRequestCount);
+        result.setBlockedRequestsByType(new HashMap<>(blockedRequestsByType));
+    }
+
+    private void handle(Route route) {
+        Request request = route.request();
+        String resourceType = request.resourceType();
+
+        if (isBlocked(request.url(), resourceType)) {
+            blockedRequestCount++;
+            blockedRequestsByType.merge(resourceType, 1L, Long::sum);
+            route.abort("blockedbyclient");
+        } else {
+            // Sonraki yönlendiriciye (ör. HAR arşivi) veya ağa bırak
+            route.fallback();
+        }
+    }
+
+    private boolean isBlocked(String url, String resourceType) {
+        if (blockedResourceTypes.contains(resourceType)) {
+            return true;
+        }
+        for (Pattern pattern : blockedUrlPatterns) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        if (firstPartyOnly) {
+            String host = hostOf(url);
+            if (host == null) {
+                return false;
+            }
+            host = normalizeHost(host);
+            if (firstPartyHost == null && "document".equals(resourceType)) {
+                // Temel URL yoksa ilk açılan sayfanın alan adı birinci taraf kabul edilir
+                firstPartyHost = host;
+                return false;
+            }
+            return !isSameSite(host, firstPartyHost) && !isAllowedHost(host);
+        }
+        return false;
+    }
+
+    private boolean isAllowedHost(String host) {
+        for (String allowed : allowedHosts) {
+            if (isSameSite(host, allowed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSameSite(String host, String site) {
+        return site != null && (host.equals(site) || host.endsWith("." + site));
+    }
+
+    private static String hostOf(String url) {
+        try {
+            return URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String normalizeHost(String host) {
+        if (host == null) {
+            return null;
+        }
+        String normalized = host.toLowerCase(Locale.ROOT);
+        return normalized.startsWith("www.") ? normalized.substring(4) : normalized;
+    }
+
+    /**
+     * Playwright tarzı glob'u düzenli ifadeye çevir ("*" "/" karakterini geçmez, "**" her şeyi eşler)
+     */
+    static Pattern globToPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    regex.append(".*");
+                    i++;
+                } else {
+                    regex.append("[^/]*");
+                }
+            } else if (c == '?') {
+                regex.append('.');
+            } else if ("\\.[]{}()+-^$|".indexOf(c) >= 0) {
+                regex.append('\\').append(c);
+            } else {
+                regex.append(c);
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -0,0 +1,486 @@
+package com.testautomation.service.runners;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.testautomation.model.*;
+import com.testautomation.service.core.ExecutionMetrics;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * PlaywrightTestDriver
+ * Adımları agent'ın Playwright tarayıcısında çalıştıran varsayılan sürücü.
+ * Her test yeni bir BrowserContext açar; ağ profili, HAR arşivi, kayıtlı oturumlar, kontrol noktasından
+ * devam eden tekrar denemeler ve ekran görüntüleri bu sürücüde ele alınır.
+ */
+@Service
+@RequiredArgsConstructor
+public class PlaywrightTestDriver implements TestDriver {
+    private static final Logger logger = LoggerFactory.getLogger(PlaywrightTestDriver.class);
+
+    private final AgentBrowserManager agentBrowserManager;
+    private final ExecutionPlanCache executionPlanCache;
+    private final HarArchiveService harArchiveService;
+    private final AuthStateCache authStateCache;
+    private final ScreenshotService screenshotService;
+    private final VisualCompareService visualCompareService;
+    private final ExecutionMetrics executionMetrics;
+
+    @Value("${app.execution.retry-backoff.initial:3000}")
+    private long retryBackoffInitial;
+
+    @Value("${app.execution.retry-backoff.multiplier:2.0}")
+    private double retryBackoffMultiplier;
+
+    @Value("${app.execution.retry-backoff.max:30000}")
+    private long retryBackoffMax;
+
+    @Override
+    public String getName() {
+        return "playwright";
+    }
+
+    @Override
+    public boolean execute(Test test, String agentId, TestResult result, BiConsumer<String, String> logFn,
+                           AtomicBoolean timedOut) throws Exception {
+        BrowserContext context = null;
+        boolean browserAcquired = false;
+        NetworkRouteHandler networkRoutes = NetworkRouteHandler.create(
+            test.getBrowserOptions().getNetworkProfile(), test.getBaseUrl());
+        HarArchiveService.HarSession harSession = harArchiveService.open(test);
+        AuthStateOptions authState = test.getAuthState() != null && test.getAuthState().getName() != null
+            ? test.getAuthState()
+            : null;
+        String authKey = null;
+        boolean authFromCache = false;
+        ScreenshotService.Session screenshots = screenshotService.session(test.getBrowserOptions());
+        boolean success = false;
+
+        try {
+            // Get browser options
+            BrowserOptions options = test.getBrowserOptions();
+
+            // Agent'ın açık tarayıcısını al (gerekirse başlatılır)
+            Browser browser;
+            try {
+                browser = agentBrowserManager.acquire(agentId, options, test.isBrowserFullScreen());
+                browserAcquired = true;
+            } catch (Exception e) {
+                logger.error("Tarayıcı başlatılamadı: {}", agentId, e);
+                throw e;
+            }
+
+            // Get test context
+            TestContext testContext = test.getTestContext();
+            Map<String, Object> variables = testContext.getVariables();
+            Map<String, Object> dataSet = test.getMetadata() != null ? test.getMetadata() : new HashMap<>();
+
+            // Create context
+            Browser.NewContextOptions contextOptions = new Browser.NewContextOptions()
+                .setIgnoreHTTPSErrors(options.isIgnoreHttpsErrors());
+
+            // Tam ekran modu için hazırlık
+            if (test.isBrowserFullScreen()) {
+                try {
+                    // Varsayılan geniş ekran boyutu
+                    contextOptions.setViewportSize(1920, 1080);
+                    logFn.accept("INFO", "Tam ekran modu için viewport boyutu ayarlandı: 1920x1080");
+                } catch (Exception e) {
+                    logFn.accept("WARN", "Viewport boyutu ayarlanamadı: " + e.getMessage());
+                }
+            } else {
+                // Tam ekran değilse, belirtilen viewport boyutunu kullan
+                contextOptions.setViewportSize(options.getViewportWidth(), options.getViewportHeight());
+            }
+
+            // Kullanıcı ajanını burada ayarla
+            if (options.getUserAgent() != null) {
+                contextOptions.setUserAgent(options.getUserAgent());
+            }
+
+            // Kayıtlı oturum varsa bağlam onunla açılır; yoksa giriş adımları test adımlarından önce çalışır
+            boolean loginRequired = false;
+            if (authState != null) {
+                authKey = authStateCache.key(authState, test.getBaseUrl(), variables, dataSet);
+                String storageState = authStateCache.get(authKey);
+                if (storageState == null && authStateCache.acquireLogin(authKey)) {
+                    // Aynı oturum için başka bir test giriş yaptıysa onun kaydı kullanılır
+                    storageState = authStateCache.get(authKey);
+                    if (storageState != null) {
+                        authStateCache.releaseLogin(authKey);
+                    }
+                }
+
+                if (storageState != null) {
+                    contextOptions.setStorageState(storageState);
+                    authFromCache = true;
+                    logFn.accept("INFO", "Using cached auth state: " + authState.getName());
+                } else {
+                    loginRequired = true;
+                }
+            }
+
+            if (harSession != null) {
+                harSession.configure(contextOptions);
+                logFn.accept("INFO", harSession.isReplay()
+                    ? "Replaying network traffic from HAR archive"
+                    : "Recording network traffic to HAR archive");
+            }
+
+            context = newContext(browser, contextOptions, null, networkRoutes, harSession);
+
+            // Create page
+            Page page = context.newPage();
+
+            // Navigate to base URL if specified
+            if (test.getBaseUrl() != null && !test.getBaseUrl().isEmpty()) {
+                page.navigate(test.getBaseUrl());
+                logFn.accept("INFO", "Navigated to base URL: " + test.getBaseUrl());
+            } else {
+                // En azından bir sayfa yükle
+                page.navigate("about:blank");
+            }
+
+            // Tam ekran modu için ek adımlar
+            if (test.isBrowserFullScreen()) {
+                try {
+                    logFn.accept("INFO", "Tarayıcı penceresi tam ekran yapılıyor");
+
+                    // JavaScript ile pencereyi maksimize et ve tam ekran modunu koru
+                    page.evaluate("() => { " +
+                        "if (window.screen) {" +
+                        "   try {" +
+                        "       window.moveTo(0, 0);" +
+                        "       window.resizeTo(window.screen.availWidth, window.screen.availHeight);" +
+                        "       " +
+                        "       // Tam ekran modundan çıkılmasını önlemek için event listener ekle" +
+                        "       document.addEventListener('fullscreenchange', function() {" +
+                        "           if (!document.fullscreenElement) {" +
+                        "               try {" +
+                        "                   document.documentElement.requestFullscreen();" +
+                        "               } catch(e) { console.error('Fullscreen re-enable failed:', e); }" +
+                        "           }" +
+                        "       });" +
+                        "       " +
+                        "       document.addEventListener('webkitfullscreenchange', function() {" +
+                        "           if (!document.webkitFullscreenElement) {" +
+                        "               try {" +
+                        "                   document.documentElement.webkitRequestFullscreen();" +
+                        "               } catch(e) { console.error('Webkit fullscreen re-enable failed:', e); }" +
+                        "           }" +
+                        "       });" +
+                        "   } catch (e) { console.error('Window resize failed:', e); }" +
+                        "}" +
+                    "}");
+
+                    // JavaScript ile tam ekran modunu etkinleştir
+                    try {
+                        page.evaluate("() => {" +
+                            "try {" +
+                            "   if (document.documentElement.requestFullscreen) {" +
+                            "       document.documentElement.requestFullscreen();" +
+                            "   } else if (document.documentElement.webkitRequestFullscreen) {" +
+                            "       document.documentElement.webkitRequestFullscreen();" +
+                            "   } else if (document.documentElement.msRequestFullscreen) {" +
+                            "       document.documentElement.msRequestFullscreen();" +
+                            "   } else if (document.documentElement.mozRequestFullScreen) {" +
+                            "       document.documentElement.mozRequestFullScreen();" +
+                            "   }" +
+                            "} catch(e) { console.error('Fullscreen request failed:', e); }" +
+                        "}");
+
+                        // Kısa bir bekleme ekle
+                        Thread.sleep(500);
+
+                        // Klavye kısayolu ile F11 tuşuna basma (tam ekran)
+                        page.keyboard().press("F11");
+
+                        logFn.accept("INFO", "JavaScript ve F11 tuşu ile tam ekran denendi");
+                    } catch (Exception e) {
+                        logFn.accept("WARN", "Tam ekran yapılamadı: " + e.getMessage());
+                    }
+
+                    logFn.accept("INFO", "Tarayıcı penceresi tam ekran yapıldı");
+
+                    // Tam ekran modunun etkin olup olmadığını kontrol et ve gerekirse tekrar dene
+                    try {
+                        // Kısa bir bekleme ekle
+                        Thread.sleep(1000);
+
+                        // Tam ekran modunun etkin olup olmadığını kontrol et
+                        Boolean isFullScreen = (Boolean) page.evaluate("() => {" +
+                            "return !!(document.fullscreenElement || document.webkitFullscreenElement || " +
+                            "document.mozFullScreenElement || document.msFullscreenElement);" +
+                        "}");
+
+                        if (isFullScreen != null && !isFullScreen) {
+                            logFn.accept("INFO", "Tam ekran modu etkin değil, tekrar deneniyor...");
+
+                            // Tam ekran modunu tekrar etkinleştir
+                            page.evaluate("() => {" +
+                                "try {" +
+                                "   if (document.documentElement.requestFullscreen) {" +
+                                "       document.documentElement.requestFullscreen();" +
+                                "   } else if (document.documentElement.webkitRequestFullscreen) {" +
+                                "       document.documentElement.webkitRequestFullscreen();" +
+                                "   } else if (document.documentElement.msRequestFullscreen) {" +
+                                "       document.documentElement.msRequestFullscreen();" +
+                                "   } else if (document.documentElement.mozRequestFullScreen) {" +
+                                "       document.documentElement.mozRequestFullScreen();" +
+                                "   }" +
+                                "} catch(e) { console.error('Fullscreen retry failed:', e); }" +
+                            "}");
+
+                            // F11 tuşuna tekrar bas
+                            page.keyboard().press("F11");
+                        }
+                    } catch (Exception e) {
+                        logFn.accept("WARN", "Tam ekran modu kontrolü başarısız: " + e.getMessage());
+                    }
+                } catch (Exception e) {
+                    logFn.accept("WARN", "Tarayıcı penceresi tam ekran yapılamadı: " + e.getMessage());
+                }
+            }
+
+            // Kontrol noktası adımları tamamlandığında son durum saklanır
+            AtomicReference<StepCheckpoint> lastCheckpoint = new AtomicReference<>();
+            TestStepExecutor executor = newStepExecutor(page, test, screenshots, logFn, timedOut, lastCheckpoint);
+
+            // Adımlar tanım sürümü başına bir kez derlenir; tekrar denemeler aynı planı kullanır
+            ExecutionPlan plan = executionPlanCache.getPlan(test);
+
+            if (loginRequired) {
+                logIn(authState, authKey, context, executor, result, variables, dataSet, logFn);
+                // Giriş adımlarının kontrol noktaları test adımlarına ait değildir
+                lastCheckpoint.set(null);
+            }
+
+            logFn.accept("INFO", "Starting test execution: " + test.getName());
+
+            int retryCount = 0;
+            int startIndex = 0;
+
+            do {
+                try {
+                    if (retryCount > 0) {
+                        logFn.accept("INFO", "Retrying test execution (attempt " + (retryCount + 1) +
+                            " of " + (test.getMaxRetries() + 1) + ")");
+                    }
+
+                    success = executor.executeSteps(plan, result, variables, dataSet,
+                        test.isContinueOnFailure(), startIndex);
+
+                    if (success) {
+                        break; // Exit retry loop if successful
+                    }
+                } catch (Exception e) {
+                    logFn.accept("ERROR", "Test execution error: " + e.getMessage());
+                }
+
+                retryCount++;
+
+                if (retryCount <= test.getMaxRetries() && !timedOut.get()) {
+                    long backoff = retryBackoff(retryCount);
+                    logFn.accept("INFO", "Waiting " + backoff + " ms before retry...");
+                    sleepUnlessTimedOut(backoff, timedOut);
+
+                    StepCheckpoint checkpoint = lastCheckpoint.get();
+                    // Kontrol noktasından önce başarısız olan bir adım varsa (continueOnFailure) devam etmek
+                    // testi başarılı gösterebilir; bu durumda test baştan çalıştırılır
+                    boolean checkpointUsable = checkpoint != null && result.getSteps().stream()
+                        .filter(stepResult -> stepResult.getIndex() < checkpoint.getNextStepIndex())
+                        .allMatch(TestStepResult::isSuccess);
+                    if (test.isResumeFromCheckpoint() && checkpoint != null && !checkpointUsable) {
+                        logFn.accept("INFO", "A step before the checkpoint failed, restarting from the first step");
+                    }
+
+                    if (test.isResumeFromCheckpoint() && checkpointUsable) {
+                        // Son kontrol noktasının durumuyla yeni bir bağlam aç ve sonraki adımdan devam et
+                        startIndex = checkpoint.getNextStepIndex();
+                        int resumeFrom = startIndex;
+                        result.getSteps().removeIf(stepResult -> stepResult.getIndex() >= resumeFrom);
+                        variables.clear();
+                        variables.putAll(checkpoint.getVariables());
+
+                        if (harSession != null && harSession.isRecording()) {
+                            // Kayıt yalnızca baştan sona tek bağlamda çalışan denemeler için saklanır
+                            harSession.invalidateRecording(contextOptions);
+                            logFn.accept("WARN", "HAR recording discarded because the run resumed from a checkpoint");
+                        }
+
+                        context.close();
+                        context = newContext(browser, contextOptions, checkpoint, networkRoutes, harSession);
+                        page = context.newPage();
+                        if (checkpoint.getUrl() != null && !checkpoint.getUrl().startsWith("about:")) {
+                            page.navigate(checkpoint.getUrl());
+                        }
+                        executor = newStepExecutor(page, test, screenshots, logFn, timedOut, lastCheckpoint);
+                        logFn.accept("INFO", "Resuming from checkpoint at step " + (startIndex + 1));
+                    } else {
+                        // Clear previous results before retry
+                        startIndex = 0;
+                        result.getSteps().clear();
+                    }
+                }
+            } while (retryCount <= test.getMaxRetries() && !timedOut.get());
+
+            // Adım olmayan testler için başarılı kabul et
+            if (test.getSteps() == null || test.getSteps().isEmpty()) {
+                success = true;
+                logFn.accept("INFO", "Test has no steps, marking as successful");
+            }
+
+            if (timedOut.get()) {
+                success = false;
+            }
+
+            if (harSession != null && harSession.hasFailingMisses()) {
+                logFn.accept("ERROR", harSession.getMisses() + " requests were not found in the HAR archive");
+                success = false;
+            }
+
+            // Take final screenshot
+            if (test.isTakeScreenshots()) {
+                // Başarısız adımın görüntüsüyle aynıysa ek disk alanı kullanmaz
+                String screenshotPath = screenshots.capture(page);
+                if (screenshotPath != null) {
+                    result.getScreenshots().add(screenshotPath);
+                }
+            }
+
+            return success;
+        } finally {
+            // Yalnızca test bağlamını kapat; tarayıcı agent'a ait
+            if (context != null) {
+                try {
+                    context.close();
+                } catch (Exception e) {
+                    logger.warn("Tarayıcı bağlamı kapatılamadı: {}", e.getMessage());
+                }
+            }
+            if (browserAcquired) {
+                agentBrowserManager.release(agentId);
+            }
+
+            if (authKey != null) {
+                authStateCache.releaseLogin(authKey);
+                // Önbellekteki oturumla başlayan test başarısızsa oturumun süresi sunucuda dolmuş olabilir
+                if (authFromCache && !success) {
+                    authStateCache.invalidate(authKey);
+                }
+            }
+
+            // HAR dosyası bağlam kapatılınca yazılır
+            if (harSession != null) {
+                harSession.finish(success);
+                result.setHarReplayMisses(harSession.getMisses());
+            }
+
+            if (networkRoutes != null) {
+                networkRoutes.writeTo(result);
+            }
+
+            // Sonuçtaki ekran görüntüsü özetleri kaydedilmeden önce dosyalar yazılmış olmalı
+            screenshots.awaitWrites();
+        }
+    }
+
+    /**
+     * Test bağlamı oluştur; kontrol noktası verilirse depolama durumu geri yüklenir
+     * @param browser Tarayıcı
+     * @param contextOptions Bağlam seçenekleri
+     * @param checkpoint Kontrol noktası (opsiyonel)
+     * @param networkRoutes Ağ profili yönlendiricisi (opsiyonel)
+     * @param harSession HAR oturumu (opsiyonel)
+     * @return Tarayıcı bağlamı
+     */
+    private BrowserContext newContext(Browser browser, Browser.NewContextOptions contextOptions,
+                                      StepCheckpoint checkpoint, NetworkRouteHandler networkRoutes,
+                                      HarArchiveService.HarSession harSession) {
+        if (checkpoint != null && checkpoint.getStorageState() != null) {
+            contextOptions.setStorageState(checkpoint.getStorageState());
+        }
+        BrowserContext context = browser.newContext(contextOptions);
+        // Yönlendiriciler ters sırayla çalışır: önce ağ profili, sonra HAR arşivi
+        if (harSession != null) {
+            harSession.install(context);
+        }
+        if (networkRoutes != null) {
+            networkRoutes.install(context);
+        }
+        return context;
+    }
+
+    /**
+     * Oturumun giriş adımlarını çalıştır ve depolama durumunu önbelleğe al
+     * Giriş adımlarının sonuçları yalnızca başarısız olursa test sonucuna eklenir.
+     */
+    private void logIn(AuthStateOptions authState, String authKey, BrowserContext context, TestStepExecutor executor,
+                       TestResult result, Map<String, Object> variables, Map<String, Object> dataSet,
+                       BiConsumer<String, String> logFn) throws Exception {
+        logFn.accept("INFO", "Running login steps for auth state: " + authState.getName());
+
+        TestResult loginResult = new TestResult();
+        boolean loggedIn = executor.executeSteps(ExecutionPlan.compile(authState.getSteps()), loginResult,
+            variables, dataSet, false, 0);
+        result.getScreenshots().addAll(loginResult.getScreenshots());
+
+        if (!loggedIn) {
+            result.getSteps().addAll(loginResult.getSteps());
+            throw new IllegalStateException("Login steps failed for auth state: " + authState.getName());
+        }
+
+        authStateCache.put(authKey, authState.getName(), context.storageState(), authState.getTtl());
+        authStateCache.releaseLogin(authKey);
+        logFn.accept("INFO", "Auth state saved: " + authState.getName());
+    }
+
+    private TestStepExecutor newStepExecutor(Page page, Test test, ScreenshotService.Session screenshots,
+                                             BiConsumer<String, String> logFn,
+                                             AtomicBoolean timedOut, AtomicReference<StepCheckpoint> lastCheckpoint) {
+        TestStepExecutor executor = new TestStepExecutor(
+            page,
+            test.getName(),
+            screenshots,
+            test.isTakeScreenshots(),
+            logFn
+        );
+        executor.setAbortCondition(timedOut::get);
+        executor.setCheckpointListener(lastCheckpoint::set);
+        executor.setVisualCompareService(visualCompareService);
+        executor.setExecutionMetrics(executionMetrics);
+        return executor;
+    }
+
+    /**
+     * Tekrar denemeden önce beklenecek süre (üstel artış, üst sınırlı)
+     * @param retryCount Kaçıncı tekrar deneme
+     * @return Bekleme süresi (ms)
+     */
+    private long retryBackoff(int retryCount) {
+        double backoff = retryBackoffInitial * Math.pow(retryBackoffMultiplier, retryCount - 1);
+        return (long) Math.min(backoff, retryBackoffMax);
+    }
+
+    /**
+     * Belirtilen süre kadar bekle; çalışma zaman aşımına uğrarsa beklemeyi bırak
+     */
+    private static void sleepUnlessTimedOut(long millis, AtomicBoolean timedOut) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + millis;
+        long remaining = millis;
+        while (remaining > 0 && !timedOut.get()) {
+            Thread.sleep(Math.min(remaining, 100));
+            remaining = deadline - System.currentTimeMillis();
+        }
+    }
+}
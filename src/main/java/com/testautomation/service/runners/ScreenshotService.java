@@ -0,0 +1,205 @@
+package com.testautomation.service.runners;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.ScreenshotType;
+import com.testautomation.model.BrowserOptions;
+import com.testautomation.service.core.ExecutionMetrics;
+import com.testautomation.service.core.ScreenshotStore;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ScreenshotService
+ * Ekran görüntülerini bellekte bayt olarak alır ve saklama işini sınırlı bir yazıcı havuzuna bırakır;
+ * test iş parçacığı yalnızca tarayıcının görüntüyü üretmesini ve içerik özetinin hesaplanmasını bekler.
+ * Kuyruk dolduğunda yazma işini çağıran iş parçacığı yapar, böylece bellek kullanımı sınırlı kalır.
+ * Görüntüler {@link ScreenshotStore} içinde içerik özetiyle saklanır; test sonucuna özet yazılır.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScreenshotService {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotService.class);
+
+    private final ScreenshotStore screenshotStore;
+    private final ExecutionMetrics executionMetrics;
+
+    @Value("${app.screenshots.writer-threads:2}")
+    private int writerThreads;
+
+    @Value("${app.screenshots.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.screenshots.await-timeout:30000}")
+    private long awaitTimeout;
+
+    private ThreadPoolExecutor writer;
+
+    private final AtomicLong capturedCount = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    @PostConstruct
+    public void initialize() {
+        AtomicInteger counter = new AtomicInteger();
+        writer = new ThreadPoolExecutor(
+                writerThreads,
+                writerThreads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ScreenshotWriter-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        logger.info("Ekran görüntüsü yazıcısı başlatıldı: threads={}, queueCapacity={}", writerThreads, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Bekleyen yazmalar tamamlanır
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(awaitTimeout, TimeUnit.MILLISECONDS)) {
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Test çalıştırması için ekran görüntüsü oturumu oluştur
+     * @param options Tarayıcı seçenekleri (görüntü biçimi, kalite, tam sayfa)
+     * @return Ekran görüntüsü oturumu
+     */
+    public Session session(BrowserOptions options) {
+        return new Session(options);
+    }
+
+    /**
+     * Yazıcı durumunu al
+     * @return Yazıcı durumu
+     */
+    public WriterStatus getStatus() {
+        return new WriterStatus(writer.getQueue().size(), writer.getActiveCount(),
+            capturedCount.get(), storedBytes.get(), failedCount.get());
+    }
+
+    private CompletableFuture<Void> store(String hash, byte[] bytes) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                screenshotStore.put(hash, bytes);
+                storedBytes.addAndGet(bytes.length);
+            } catch (IOException | RuntimeException e) {
+                failedCount.incrementAndGet();
+                logger.warn("Ekran görüntüsü saklanamadı: {} - {}", hash, e.getMessage());
+            }
+        }, writer);
+    }
+
+    /**
+     * Tek bir test çalıştırmasının ekran görüntüleri
+     */
+    public final class Session {
+        private final Page.ScreenshotOptions screenshotOptions;
+        private final List<CompletableFuture<Void>> pendingWrites = new ArrayList<>();
+
+        private Session(BrowserOptions options) {
+            boolean jpeg = "jpeg".equalsIgnoreCase(options.getScreenshotFormat())
+                || "jpg".equalsIgnoreCase(options.getScreenshotFormat());
+            this.screenshotOptions = new Page.ScreenshotOptions()
+                .setFullPage(options.isScreenshotFullPage())
+                .setType(jpeg ? ScreenshotType.JPEG : ScreenshotType.PNG);
+            if (jpeg) {
+                screenshotOptions.setQuality(Math.max(0, Math.min(100, options.getScreenshotQuality())));
+            }
+        }
+
+        /**
+         * Ekran görüntüsü al
+         * Aynı içerikli görüntüler aynı özeti alır ve diskte bir kez saklanır.
+         * @param page Sayfa
+         * @return İçerik özeti veya görüntü alınamazsa null
+         */
+        public String capture(Page page) {
+            try {
+                long captureStart = System.nanoTime();
+                byte[] bytes = page.screenshot(screenshotOptions);
+                executionMetrics.recordScreenshot(System.nanoTime() - captureStart);
+                capturedCount.incrementAndGet();
+
+                String hash = ScreenshotStore.hash(bytes);
+                CompletableFuture<Void> pending = store(hash, bytes);
+                synchronized (pendingWrites) {
+                    pendingWrites.removeIf(CompletableFuture::isDone);
+                    pendingWrites.add(pending);
+                }
+                return hash;
+            } catch (Exception e) {
+                failedCount.incrementAndGet();
+                logger.warn("Ekran görüntüsü alınamadı: {}", e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * Bu oturumun bekleyen yazmalarının bitmesini bekle (sonuç kaydedilmeden önce)
+         */
+        public void awaitWrites() {
+            CompletableFuture<?>[] pending;
+            synchronized (pendingWrites) {
+                pending = pendingWrites.toArray(new CompletableFuture[0]);
+                pendingWrites.clear();
+            }
+            if (pending.length == 0) {
+                return;
+            }
+
+            try {
+                CompletableFuture.allOf(pending).get(awaitTimeout, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                logger.warn("Ekran görüntüsü yazmaları {} ms içinde tamamlanmadı ({} dosya)", awaitTimeout, pending.length);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.warn("Ekran görüntüsü yazmaları beklenirken hata oluştu: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Getter
+    public static class WriterStatus {
+        private final int queuedCount;
+        private final int activeCount;
+        private final long capturedCount;
+        private final long storedBytes;
+        private final long failedCount;
+
+        public WriterStatus(int queuedCount, int activeCount, long capturedCount, long storedBytes, long failedCount) {
+            this.queuedCount = queuedCount;
+            this.activeCount = activeCount;
+            this.capturedCount = capturedCount;
+            this.storedBytes = storedBytes;
+            this.failedCount = failedCount;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.testautomation.service.runners;
+
+import com.testautomation.model.Test;
+import com.testautomation.model.TestResult;
+import com.testautomation.model.TestStepResult;
+import com.testautomation.service.core.ExecutionMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * SimulatedTestDriver
+ * Tarayıcı açmadan adımları taklit eden sürücü (app.execution.driver=simulated).
+ * Her adım yapılandırılan ortalama ve sapmayla normal dağılımlı bir süre bekler ve belirtilen
+ * oranda başarısız olur; böylece kuyruk, dağıtıcı, MongoDB ve WebSocket yükü gerçek bir Chromium
+ * olmadan ölçülebilir. Adım sonuçları, loglar ve metrikler gerçek sürücüdeki gibi üretilir.
+ */
+@Service
+@RequiredArgsConstructor
+public class SimulatedTestDriver implements TestDriver {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private final ExecutionPlanCache executionPlanCache;
+    private final ExecutionMetrics executionMetrics;
+
+    @Value("${app.driver.simulated.startup-latency:0}")
+    private long startupLatency;
+
+    @Value("${app.driver.simulated.step-latency-mean:50}")
+    private long stepLatencyMean;
+
+    @Value("${app.driver.simulated.step-latency-stddev:20}")
+    private long stepLatencyStddev;
+
+    @Value("${app.driver.simulated.step-failure-rate:0.0}")
+    private double stepFailureRate;
+
+    @Value("${app.driver.simulated.error-rate:0.0}")
+    private double errorRate;
+
+    @Override
+    public String getName() {
+        return "simulated";
+    }
+
+    @Override
+    public boolean execute(Test test, String agentId, TestResult result, BiConsumer<String, String> logFn,
+                           AtomicBoolean timedOut) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (startupLatency > 0) {
+            Thread.sleep(startupLatency);
+        }
+        // Tarayıcı çökmesi gibi test dışı hatalar
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            throw new IllegalStateException("Simulated driver error");
+        }
+
+        List<CompiledStep> steps = executionPlanCache.getPlan(test).getSteps();
+        logFn.accept("INFO", "Starting test execution: " + test.getName());
+
+        boolean success = false;
+        for (int attempt = 0; attempt <= test.getMaxRetries() && !success && !timedOut.get(); attempt++) {
+            if (attempt > 0) {
+                // Tekrar denemeler bekleme süresi olmadan yapılır
+                logFn.accept("INFO", "Retrying test execution (attempt " + (attempt + 1) +
+                    " of " + (test.getMaxRetries() + 1) + ")");
+                result.getSteps().clear();
+            }
+            success = executeSteps(steps, test, result, logFn, timedOut, random);
+        }
+        return success && !timedOut.get();
+    }
+
+    private boolean executeSteps(List<CompiledStep> steps, Test test, TestResult result,
+                                 BiConsumer<String, String> logFn, AtomicBoolean timedOut,
+                                 ThreadLocalRandom random) throws InterruptedException {
+        boolean allStepsSuccessful = true;
+
+        for (int i = 0; i < steps.size(); i++) {
+            if (timedOut.get()) {
+                logFn.accept("WARN", "Execution aborted before step " + (i + 1));
+                return false;
+            }
+
+            CompiledStep step = steps.get(i);
+            TestStepResult stepResult = new TestStepResult();
+            stepResult.setIndex(i);
+            stepResult.setAction(step.getAction());
+            stepResult.setDescription(step.getDescription());
+            stepResult.setStartTime(LocalDateTime.now().format(FORMATTER));
+            logFn.accept("INFO", "Executing step " + (i + 1) + "/" + steps.size() + ": " + step.getDescription());
+
+            long startTime = System.currentTimeMillis();
+            long latency = Math.max(0, Math.round(stepLatencyMean + random.nextGaussian() * stepLatencyStddev));
+            if (latency > 0) {
+                Thread.sleep(latency);
+            }
+
+            boolean stepSuccess = stepFailureRate <= 0 || random.nextDouble() >= stepFailureRate;
+            long endTime = System.currentTimeMillis();
+            stepResult.setSuccess(stepSuccess);
+            stepResult.setDuration(endTime - startTime);
+            stepResult.setEndTime(LocalDateTime.now().format(FORMATTER));
+            result.getSteps().add(stepResult);
+            executionMetrics.recordStep(step.getActionType(), stepSuccess, endTime - startTime);
+
+            if (stepSuccess) {
+                logFn.accept("INFO", "Step " + (i + 1) + " completed successfully");
+                continue;
+            }
+
+            stepResult.setError("Simulated step failure");
+            allStepsSuccessful = false;
+            logFn.accept("ERROR", "Step " + (i + 1) + " failed: Simulated step failure");
+            if (!test.isContinueOnFailure() && !step.getOptions().isContinueOnFailure()) {
+                break;
+            }
+        }
+
+        return allStepsSuccessful;
+    }
+}
@@ -0,0 +1,56 @@
+package com.testautomation.service.runners;
+
+import com.microsoft.playwright.Page;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test adımı kontrol noktası
+ * Kontrol noktası olarak işaretlenen adım başarıyla tamamlandığında tarayıcı depolama durumu
+ * (çerezler ve localStorage), sayfa URL'i ve değişkenler saklanır. Tekrar denemede yeni bir bağlam
+ * bu durumla açılır ve yürütme bir sonraki adımdan devam eder.
+ */
+public final class StepCheckpoint {
+    private final int nextStepIndex;
+    private final String storageState;
+    private final String url;
+    private final Map<String, Object> variables;
+
+    private StepCheckpoint(int nextStepIndex, String storageState, String url, Map<String, Object> variables) {
+        this.nextStepIndex = nextStepIndex;
+        this.storageState = storageState;
+        this.url = url;
+        this.variables = variables;
+    }
+
+    /**
+     * Sayfanın mevcut durumunu kaydet
+     * @param page Playwright sayfası
+     * @param nextStepIndex Devam edilecek adım sırası
+     * @param variables Test değişkenleri
+     * @return Kontrol noktası
+     */
+    public static StepCheckpoint capture(Page page, int nextStepIndex, Map<String, Object> variables) {
+        String storageState = page.context().storageState();
+        Map<String, Object> snapshot = variables != null ? new HashMap<>(variables) : new HashMap<>();
+        return new StepCheckpoint(nextStepIndex, storageState, page.url(), Collections.unmodifiableMap(snapshot));
+    }
+
+    public int getNextStepIndex() {
+        return nextStepIndex;
+    }
+
+    public String getStorageState() {
+        return storageState;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Map<String, Object> getVariables() {
+        return variables;
+    }
+}
@@ -1,5 +1,6 @@
 package com.testautomation.service.runners;
 
+import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import com.testautomation.model.TestStep;
 import com.testautomation.model.TestStepOptions;
@@ -9,52 +10,22 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Component
 public class StepExecutor {
     private static final Logger logger = LoggerFactory.getLogger(StepExecutor.class);
-    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
 
+    /**
+     * Metindeki ${değişken} ifadelerini değiştir
+     * Önce değişkenlere, sonra veri setine bakılır; iç içe erişim (${user.email}) ve
+     * varsayılan değer (${x:yedek}) desteklenir. Çözülemeyen değişkenler olduğu gibi bırakılır.
+     * @param value Metin
+     * @param variables Değişkenler
+     * @param dataSet Veri seti
+     * @return Değişkenleri değiştirilmiş metin
+     */
     public static String replaceVariables(String value, Map<String, Object> variables, Map<String, Object> dataSet) {
-        if (value == null) {
-            return null;
-        }
-
-        Matcher matcher = VARIABLE_PATTERN.matcher(value);
-        StringBuffer sb = new StringBuffer();
-
-        while (matcher.find()) {
-            String variableName = matcher.group(1);
-            Object replacement = null;
-
-            // First check in variables
-            if (variables != null && variables.containsKey(variableName)) {
-                replacement = variables.get(variableName);
-            }
-            // Then check in dataSet
-            else if (dataSet != null && dataSet.containsKey(variableName)) {
-                replacement = dataSet.get(variableName);
-            }
-
-            if (replacement != null) {
-                matcher.appendReplacement(sb, replacement.toString().replace("$", "\\$"));
-            } else {
-                matcher.appendReplacement(sb, matcher.group(0));
-            }
-        }
-
-        matcher.appendTail(sb);
-        return sb.toString();
-    }
-
-    private static TestActionType getActionType(String action) {
-        try {
-            return TestActionType.fromString(action.toLowerCase());
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Unsupported action type: " + action);
-        }
+        return VariableTemplate.render(value, variables, dataSet);
     }
 
     /**
@@ -70,14 +41,35 @@ public class StepExecutor {
         Map<String, Object> variables,
         Map<String, Object> dataSet
     )
+    {
+        executeStep(page, CompiledStep.compile(step), variables, dataSet);
+    }
+
+    /**
+     * Derlenmiş test adımını çalıştır
+     * Aksiyon ve seçici derleme sırasında çözülmüştür; burada yalnızca değişkenler bağlanır.
+     * @param page Playwright sayfası
+     * @param step Derlenmiş test adımı
+     * @param variables Değişkenler
+     * @param dataSet Veri seti
+     */
+    public static void executeStep(
+        Page page,
+        CompiledStep step,
+        Map<String, Object> variables,
+        Map<String, Object> dataSet
+    )
     {
         String action = step.getAction();
-        String target = replaceVariables(step.getTarget(), variables, dataSet);
+        String target = step.bindTarget(variables, dataSet);
         String strategy = step.getStrategy();
-        String value = replaceVariables(step.getValue(), variables, dataSet);
+        String value = step.bindValue(variables, dataSet);
 
-        TestActionType actionType = getActionType(action);
-        TestStepOptions options = step.getStepOptions();
+        TestActionType actionType = step.getActionType();
+        if (actionType == null) {
+            throw new IllegalArgumentException("Unsupported action type: " + action);
+        }
+        TestStepOptions options = step.getOptions();
 
         logger.info("Adım çalıştırılıyor: {} - Hedef: {}, Strateji: {}, Değer: {}",
                 action, target, strategy, value);
@@ -92,15 +84,15 @@ public class StepExecutor {
                 case CLICK:
                     if (options != null && options.isForce()) {
                         logger.debug("Elemente zorla tıklanıyor: {} (strateji: {})", target, strategy);
-                        ElementUtils.findElement(page, target, strategy).click(
+                        locate(page, step, target).click(
                             new com.microsoft.playwright.Locator.ClickOptions().setForce(true)
                         );
                     } else {
-                        ElementUtils.findAndClick(page, target, strategy);
+                        ElementUtils.findAndClick(locate(page, step, target));
                     }
                     break;
                 case TYPE:
-                    ElementUtils.findAndType(page, target, strategy, value);
+                    ElementUtils.findAndType(locate(page, step, target), value);
                     break;
                 case WAIT:
                     int waitTime = value != null ? Integer.parseInt(value) : 1000;
@@ -117,7 +109,7 @@ public class StepExecutor {
                 case WAIT_FOR_ELEMENT:
                 case WAIT_FOR_SELECTOR:
                     int timeout = value != null ? Integer.parseInt(value) : 30000;
-                    ElementUtils.waitForElement(page, target, strategy, timeout);
+                    ElementUtils.waitForElement(locate(page, step, target), timeout);
                     break;
                 case PRESS_ENTER:
                     logger.debug("Enter tuşuna basılıyor");
@@ -130,19 +122,23 @@ public class StepExecutor {
                     logger.debug("Tuşa basıldı");
                     break;
                 case SELECT:
-                    ElementUtils.findAndSelect(page, target, strategy, value);
+                    ElementUtils.findAndSelect(locate(page, step, target), value);
                     break;
                 case VERIFY_URL:
                     ElementUtils.verifyUrl(page, target);
                     break;
                 case VERIFY_TEXT:
-                    ElementUtils.verifyText(page, target, strategy, value);
+                    ElementUtils.verifyText(locate(page, step, target), value);
                     break;
                 case TAKE_SCREENSHOT:
                 case SCREENSHOT:
                     // Screenshot is handled by TestStepExecutor
                     logger.debug("Ekran görüntüsü alınıyor (TestStepExecutor tarafından işlenecek)");
                     break;
+                case VISUAL_COMPARE:
+                    // Görsel karşılaştırma TestStepExecutor tarafından işlenir
+                    logger.debug("Görsel karşılaştırma yapılıyor (TestStepExecutor tarafından işlenecek)");
+                    break;
                 case SET_VARIABLE:
                     if (target != null && value != null) {
                         logger.debug("Değişken ayarlanıyor: {} = {}", target, value);
@@ -153,46 +149,46 @@ public class StepExecutor {
                 case GET_TEXT:
                     if (target != null && value != null) {
                         logger.debug("Metin alınıyor: {} (strateji: {})", target, strategy);
-                        String text = ElementUtils.findElement(page, target, strategy).textContent();
+                        String text = locate(page, step, target).textContent();
                         variables.put(value, text);
                         logger.debug("Metin başarıyla alındı: {}", text);
                     }
                     break;
                 case GET_ATTRIBUTE:
-                    if (target != null && value != null && step.getAdditionalProperties().containsKey("attribute")) {
-                        String attributeName = (String) step.getAdditionalProperties().get("attribute");
+                    if (target != null && value != null && step.getAttribute() != null) {
+                        String attributeName = step.getAttribute();
                         logger.debug("Özellik alınıyor: {} (strateji: {}), özellik: {}", target, strategy, attributeName);
-                        String attributeValue = ElementUtils.findElement(page, target, strategy).getAttribute(attributeName);
+                        String attributeValue = locate(page, step, target).getAttribute(attributeName);
                         variables.put(value, attributeValue);
                         logger.debug("Özellik başarıyla alındı: {}", attributeValue);
                     }
                     break;
                 case FILL:
-                    ElementUtils.findAndType(page, target, strategy, value);
+                    ElementUtils.findAndType(locate(page, step, target), value);
                     break;
                 case CHECK:
-                    ElementUtils.check(page, target, strategy);
+                    ElementUtils.check(locate(page, step, target));
                     break;
                 case UNCHECK:
-                    ElementUtils.uncheck(page, target, strategy);
+                    ElementUtils.uncheck(locate(page, step, target));
                     break;
                 case EXPECT:
-                    ElementUtils.verifyText(page, target, strategy, value);
+                    ElementUtils.verifyText(locate(page, step, target), value);
                     break;
                 case HOVER:
-                    ElementUtils.hover(page, target, strategy);
+                    ElementUtils.hover(locate(page, step, target));
                     break;
                 case DOUBLE_CLICK:
-                    ElementUtils.doubleClick(page, target, strategy);
+                    ElementUtils.doubleClick(locate(page, step, target));
                     break;
                 case RIGHT_CLICK:
-                    ElementUtils.rightClick(page, target, strategy);
+                    ElementUtils.rightClick(locate(page, step, target));
                     break;
                 case FOCUS:
-                    ElementUtils.focus(page, target, strategy);
+                    ElementUtils.focus(locate(page, step, target));
                     break;
                 case SCROLL_INTO_VIEW:
-                    ElementUtils.scrollIntoView(page, target, strategy);
+                    ElementUtils.scrollIntoView(locate(page, step, target));
                     break;
                 case EVALUATE:
                     ElementUtils.evaluate(page, value);
@@ -208,4 +204,11 @@ public class StepExecutor {
             throw e;
         }
     }
+
+    /**
+     * Derlenmiş adımın seçicisi ile elementi bul
+     */
+    private static Locator locate(Page page, CompiledStep step, String target) {
+        return ElementUtils.locate(page, step.selectorFor(target));
+    }
 }
@@ -0,0 +1,35 @@
+package com.testautomation.service.runners;
+
+import com.testautomation.model.Test;
+import com.testautomation.model.TestResult;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * TestDriver
+ * Bir testin adımlarını çalıştıran sürücü. {@link TestRunner} agent durumu, test durumu, loglar,
+ * kayıt ve WebSocket bildirimlerini yönetir; sürücü yalnızca adımları çalıştırır ve
+ * adım sonuçlarını, ekran görüntülerini ve ağ sayaçlarını sonuca ekler.
+ * Kullanılacak sürücü app.execution.driver ile seçilir.
+ */
+public interface TestDriver {
+
+    /**
+     * Sürücü adı (app.execution.driver değeri)
+     * @return Sürücü adı
+     */
+    String getName();
+
+    /**
+     * Testin adımlarını çalıştır; tekrar denemeler sürücünün sorumluluğundadır
+     * @param test Test
+     * @param agentId Agent ID
+     * @param result Test sonucu
+     * @param logFn Log fonksiyonu (seviye, mesaj)
+     * @param timedOut Çalışma zaman aşımı; true olduğunda kalan adımlar ve tekrar denemeler atlanır
+     * @return Test başarılıysa true
+     */
+    boolean execute(Test test, String agentId, TestResult result, BiConsumer<String, String> logFn,
+                    AtomicBoolean timedOut) throws Exception;
+}
@@ -0,0 +1,257 @@
+package com.testautomation.service.runners;
+
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * TestExecutionEngine
+ * Tarayıcı oturumlarını ortak ForkJoinPool yerine kendine ait, boyutu sınırlı bir iş parçacığı
+ * havuzunda çalıştırır. Havuz doluysa görev reddedilir ve dönen future
+ * {@link RejectedExecutionException} ile tamamlanır; dağıtıcı bu durumda testi kuyruğa geri koyar.
+ * Tüm test çalıştırmaları (doğrudan agent'a gönderilenler dahil) dağıtıcı üzerinden gelir.
+ */
+@Service
+public class TestExecutionEngine {
+    private static final Logger logger = LoggerFactory.getLogger(TestExecutionEngine.class);
+
+    @Value("${app.execution.pool-size:${app.agent.max-agents:10}}")
+    private int poolSize;
+
+    @Value("${app.execution.queue-capacity:0}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    private final Map<String, SlotStats> slots = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    @PostConstruct
+    public void initialize() {
+        logger.info("Test yürütme havuzu yapılandırılıyor: poolSize={}, queueCapacity={}", poolSize, queueCapacity);
+
+        // Gönderimleri hasCapacity() sınırlar. İş kuyruğu bundan büyük tutulur: future tamamlandığında
+        // dağıtıcı yeni testi gönderir, ancak iş parçacığı henüz kuyruğu beklemeye dönmemiş olabilir
+        BlockingQueue<Runnable> workQueue = new ArrayBlockingQueue<>(poolSize + queueCapacity);
+
+        executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60L, TimeUnit.SECONDS,
+                workQueue,
+                new TestThreadFactory(),
+                (task, pool) -> {
+                    rejected.incrementAndGet();
+                    throw new RejectedExecutionException("Test execution pool is saturated (" +
+                            pool.getActiveCount() + "/" + pool.getMaximumPoolSize() + " active)");
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        logger.info("Test yürütme havuzu kapatılıyor...");
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Görevi test yürütme havuzunda çalıştır
+     * @param taskId Görev (test) ID
+     * @param task Çalıştırılacak görev
+     * @return Görev sonucu; havuz doluysa RejectedExecutionException ile tamamlanır
+     */
+    public <T> CompletableFuture<T> submit(String taskId, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        inFlight.incrementAndGet();
+
+        try {
+            executor.execute(() -> run(taskId, task, future));
+            submitted.incrementAndGet();
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            logger.warn("Test yürütme reddedildi: {} - {}", taskId, e.getMessage());
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * Havuzda yeni bir test için yer var mı?
+     * @return Yer varsa true
+     */
+    public boolean hasCapacity() {
+        return inFlight.get() < poolSize + queueCapacity;
+    }
+
+    private <T> void run(String taskId, Supplier<T> task, CompletableFuture<T> future) {
+        SlotStats slot = slots.computeIfAbsent(Thread.currentThread().getName(), SlotStats::new);
+        slot.begin(taskId);
+        long startTime = System.currentTimeMillis();
+
+        T result = null;
+        Throwable failure = null;
+        try {
+            result = task.get();
+        } catch (Throwable t) {
+            failure = t;
+        } finally {
+            slot.end(System.currentTimeMillis() - startTime);
+            inFlight.decrementAndGet();
+        }
+
+        if (failure != null) {
+            failed.incrementAndGet();
+            future.completeExceptionally(failure);
+        } else {
+            succeeded.incrementAndGet();
+            future.complete(result);
+        }
+    }
+
+    /**
+     * Havuz ve slot durumunu al
+     * @return Yürütme durumu
+     */
+    public ExecutionStatus getStatus() {
+        List<SlotStatus> slotStatuses = new ArrayList<>();
+        for (SlotStats slot : slots.values()) {
+            slotStatuses.add(slot.toStatus());
+        }
+        slotStatuses.sort(Comparator.comparing(SlotStatus::getName));
+
+        return new ExecutionStatus(
+                poolSize,
+                queueCapacity,
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                submitted.get(),
+                succeeded.get(),
+                failed.get(),
+                rejected.get(),
+                slotStatuses
+        );
+    }
+
+    /**
+     * Adlandırılmış test yürütme iş parçacıkları üretir
+     */
+    private static class TestThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "TestExec-" + counter.incrementAndGet());
+            thread.setDaemon(false);
+            return thread;
+        }
+    }
+
+    /**
+     * Tek bir yürütme slotunun (iş parçacığının) sayaçları
+     */
+    private static class SlotStats {
+        private final String name;
+        private volatile String currentTaskId;
+        private volatile LocalDateTime busySince;
+        private final AtomicLong executed = new AtomicLong();
+        private final AtomicLong busyMillis = new AtomicLong();
+
+        private SlotStats(String name) {
+            this.name = name;
+        }
+
+        private void begin(String taskId) {
+            currentTaskId = taskId;
+            busySince = LocalDateTime.now();
+        }
+
+        private void end(long durationMillis) {
+            executed.incrementAndGet();
+            busyMillis.addAndGet(durationMillis);
+            currentTaskId = null;
+            busySince = null;
+        }
+
+        private SlotStatus toStatus() {
+            return new SlotStatus(name, currentTaskId, busySince, executed.get(), busyMillis.get());
+        }
+    }
+
+    @Getter
+    public static class ExecutionStatus {
+        private final int poolSize;
+        private final int queueCapacity;
+        private final int activeCount;
+        private final int queuedCount;
+        private final long submittedCount;
+        private final long succeededCount;
+        private final long failedCount;
+        private final long rejectedCount;
+        private final List<SlotStatus> slots;
+
+        public ExecutionStatus(int poolSize, int queueCapacity, int activeCount, int queuedCount,
+                               long submittedCount, long succeededCount, long failedCount, long rejectedCount,
+                               List<SlotStatus> slots) {
+            this.poolSize = poolSize;
+            this.queueCapacity = queueCapacity;
+            this.activeCount = activeCount;
+            this.queuedCount = queuedCount;
+            this.submittedCount = submittedCount;
+            this.succeededCount = succeededCount;
+            this.failedCount = failedCount;
+            this.rejectedCount = rejectedCount;
+            this.slots = slots;
+        }
+    }
+
+    @Getter
+    public static class SlotStatus {
+        private final String name;
+        private final String currentTestId;
+        private final LocalDateTime busySince;
+        private final long testsExecuted;
+        private final long busyMillis;
+
+        public SlotStatus(String name, String currentTestId, LocalDateTime busySince,
+                          long testsExecuted, long busyMillis) {
+            this.name = name;
+            this.currentTestId = currentTestId;
+            this.busySince = busySince;
+            this.testsExecuted = testsExecuted;
+            this.busyMillis = busyMillis;
+        }
+    }
+}
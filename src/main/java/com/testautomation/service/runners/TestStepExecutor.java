@@ -3,6 +3,8 @@ package com.testautomation.service.runners;
 import com.microsoft.playwright.Page;
 import com.testautomation.model.*;
 import com.testautomation.model.TestResult;
+import com.testautomation.model.enums.TestActionType;
+import com.testautomation.service.core.ExecutionMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -11,40 +13,106 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 @Component
 @RequiredArgsConstructor
 public class TestStepExecutor {
     private Page page;
     private String testName;
-    private String screenshotsDir;
+    private ScreenshotService.Session screenshots;
     private boolean takeScreenshots;
     private BiConsumer<String, String> logFn;
+    private BooleanSupplier abortCondition = () -> false;
+    private Consumer<StepCheckpoint> checkpointListener;
+    private VisualCompareService visualCompareService;
+    private ExecutionMetrics executionMetrics;
 
-    public TestStepExecutor(Page page, String testName, String screenshotsDir, boolean takeScreenshots, BiConsumer<String, String> logFn) {
+    public TestStepExecutor(Page page, String testName, ScreenshotService.Session screenshots, boolean takeScreenshots, BiConsumer<String, String> logFn) {
         this.page = page;
         this.testName = testName;
-        this.screenshotsDir = screenshotsDir;
+        this.screenshots = screenshots;
         this.takeScreenshots = takeScreenshots;
         this.logFn = logFn;
     }
 
+    /**
+     * Adımlar arasında kontrol edilen durdurma koşulunu ayarla (ör. çalışma zaman aşımı)
+     * @param abortCondition true döndüğünde kalan adımlar çalıştırılmaz
+     */
+    public void setAbortCondition(BooleanSupplier abortCondition) {
+        this.abortCondition = abortCondition;
+    }
+
+    /**
+     * Kontrol noktası adımları tamamlandığında çağrılacak dinleyiciyi ayarla
+     * @param checkpointListener Kaydedilen kontrol noktasını alan dinleyici
+     */
+    public void setCheckpointListener(Consumer<StepCheckpoint> checkpointListener) {
+        this.checkpointListener = checkpointListener;
+    }
+
+    /**
+     * "visualcompare" adımlarında kullanılacak görsel karşılaştırma servisini ayarla
+     * @param visualCompareService Görsel karşılaştırma servisi
+     */
+    public void setVisualCompareService(VisualCompareService visualCompareService) {
+        this.visualCompareService = visualCompareService;
+    }
+
+    /**
+     * Adım sürelerinin kaydedileceği metrikleri ayarla
+     * @param executionMetrics Çalıştırma metrikleri
+     */
+    public void setExecutionMetrics(ExecutionMetrics executionMetrics) {
+        this.executionMetrics = executionMetrics;
+    }
+
     public boolean executeSteps(
         List<TestStep> steps,
         TestResult result,
         Map<String, Object> variables,
         Map<String, Object> dataSet,
         boolean continueOnFailure
+    ) throws Exception {
+        return executeSteps(ExecutionPlan.compile(steps), result, variables, dataSet, continueOnFailure, 0);
+    }
+
+    /**
+     * Derlenmiş yürütme planının adımlarını çalıştır
+     * @param plan Yürütme planı
+     * @param result Test sonucu
+     * @param variables Değişkenler
+     * @param dataSet Veri seti
+     * @param continueOnFailure Adım başarısız olsa da devam edilsin mi
+     * @param startIndex Başlanacak adım sırası (kontrol noktasından devam için)
+     * @return Tüm adımlar başarılıysa true
+     */
+    public boolean executeSteps(
+        ExecutionPlan plan,
+        TestResult result,
+        Map<String, Object> variables,
+        Map<String, Object> dataSet,
+        boolean continueOnFailure,
+        int startIndex
     ) throws Exception {
         boolean allStepsSuccessful = true;
+        List<CompiledStep> steps = plan.getSteps();
         // Eğer adım yoksa, başarılı olarak kabul et
-        if (steps == null || steps.isEmpty()) {
+        if (steps.isEmpty()) {
             return true;
         }
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
 
-        for (int i = 0; i < steps.size(); i++) {
-            TestStep step = steps.get(i);
+        for (int i = startIndex; i < steps.size(); i++) {
+            if (abortCondition.getAsBoolean()) {
+                logFn.accept("WARN", "Test run aborted, skipping remaining " + (steps.size() - i) + " steps");
+                allStepsSuccessful = false;
+                break;
+            }
+
+            CompiledStep step = steps.get(i);
             TestStepResult stepResult = new TestStepResult();
 
             stepResult.setIndex(i);
@@ -53,7 +121,7 @@ public class TestStepExecutor {
             stepResult.setStartTime(LocalDateTime.now().format(formatter));
 
             long startTime = System.currentTimeMillis();
-            TestStepOptions options = step.getStepOptions();
+            TestStepOptions options = step.getOptions();
 
             try {
                 logFn.accept("INFO", "Executing step " + (i + 1) + "/" + steps.size() + ": " + step.getDescription());
@@ -65,14 +133,10 @@ public class TestStepExecutor {
 
                 // Take screenshot before action if requested
                 if (takeScreenshots && options.isScreenshotBefore()) {
-                    String screenshotPath = ScreenshotUtils.takeScreenshot(
-                        page,
-                        testName,
-                        i,
-                        "BEFORE_" + step.getDescription(),
-                        screenshotsDir
-                    );
-                    result.getScreenshots().add(screenshotPath);
+                    String screenshotPath = screenshots.capture(page);
+                    if (screenshotPath != null) {
+                        result.getScreenshots().add(screenshotPath);
+                    }
                 }
 
                 // Execute step with retries if configured
@@ -90,7 +154,11 @@ public class TestStepExecutor {
                             }
                         }
 
-                        StepExecutor.executeStep(page, step, variables, dataSet);
+                        if (step.getActionType() == TestActionType.VISUAL_COMPARE) {
+                            compareVisual(step, i, stepResult, variables, dataSet);
+                        } else {
+                            StepExecutor.executeStep(page, step, variables, dataSet);
+                        }
                         stepSuccess = true;
                         break; // Exit retry loop if successful
                     } catch (Exception e) {
@@ -109,15 +177,16 @@ public class TestStepExecutor {
 
                 // Take screenshot after action if requested
                 if (takeScreenshots && (options.isScreenshotAfter() || step.getAction().equalsIgnoreCase("screenshot"))) {
-                    String screenshotPath = ScreenshotUtils.takeScreenshot(
-                        page,
-                        testName,
-                        i,
-                        step.getDescription(),
-                        screenshotsDir
-                    );
-                    stepResult.setScreenshot(screenshotPath);
-                    result.getScreenshots().add(screenshotPath);
+                    String screenshotPath = screenshots.capture(page);
+                    // Görüntü alınamadıysa (null) sonuca eklenmez
+                    if (screenshotPath != null) {
+                        stepResult.setScreenshot(screenshotPath);
+                        result.getScreenshots().add(screenshotPath);
+                    }
+                }
+
+                if (options.isCheckpoint() && checkpointListener != null) {
+                    saveCheckpoint(i, variables);
                 }
             } catch (Exception e) {
                 stepResult.setSuccess(false);
@@ -127,15 +196,12 @@ public class TestStepExecutor {
                 logFn.accept("ERROR", "Step " + (i + 1) + " failed: " + e.getMessage());
 
                 if (takeScreenshots) {
-                    String screenshotPath = ScreenshotUtils.takeScreenshot(
-                        page,
-                        testName,
-                        i,
-                        "ERROR_" + step.getDescription(),
-                        screenshotsDir
-                    );
-                    stepResult.setScreenshot(screenshotPath);
-                    result.getScreenshots().add(screenshotPath);
+                    String screenshotPath = screenshots.capture(page);
+                    // Görüntü alınamadıysa (null) sonuca eklenmez
+                    if (screenshotPath != null) {
+                        stepResult.setScreenshot(screenshotPath);
+                        result.getScreenshots().add(screenshotPath);
+                    }
                 }
 
                 // Check if we should continue despite the failure
@@ -150,9 +216,55 @@ public class TestStepExecutor {
                 stepResult.setDuration(endTime - startTime);
                 stepResult.setEndTime(LocalDateTime.now().format(formatter));
                 result.getSteps().add(stepResult);
+                if (executionMetrics != null) {
+                    executionMetrics.recordStep(step.getActionType(), stepResult.isSuccess(), endTime - startTime);
+                }
             }
         }
 
         return allStepsSuccessful;
     }
+
+    /**
+     * Sayfayı temel görüntüyle karşılaştır; fark toleransı aşarsa adım başarısız olur
+     * Hedef temel görüntü adıdır; verilmezse test adı ve adım sırası kullanılır.
+     */
+    private void compareVisual(CompiledStep step, int stepIndex, TestStepResult stepResult,
+                               Map<String, Object> variables, Map<String, Object> dataSet) throws Exception {
+        if (visualCompareService == null) {
+            throw new IllegalStateException("Visual comparison is not available");
+        }
+
+        String baselineName = step.bindTarget(variables, dataSet);
+        if (baselineName == null || baselineName.isEmpty()) {
+            baselineName = testName + "_step" + (stepIndex + 1);
+        }
+        VisualCompareOptions visualOptions = step.getOptions().getVisualCompare() != null
+            ? step.getOptions().getVisualCompare()
+            : VisualCompareOptions.builder().build();
+
+        VisualDiffResult visualDiff = visualCompareService.compare(page, baselineName, visualOptions);
+        stepResult.setVisualDiff(visualDiff);
+
+        if (visualDiff.isBaselineCreated()) {
+            logFn.accept("INFO", "Visual baseline saved: " + baselineName);
+        } else if (visualDiff.isPassed()) {
+            logFn.accept("INFO", String.format("Visual comparison passed: %s (%.4f%% different, %d ms)",
+                baselineName, visualDiff.getDiffRatio() * 100, visualDiff.getDuration()));
+        } else {
+            throw new IllegalStateException(String.format(
+                "Visual comparison failed: %.4f%% of pixels differ from baseline '%s' (diff: %s)",
+                visualDiff.getDiffRatio() * 100, baselineName, visualDiff.getDiffImage()));
+        }
+    }
+
+    private void saveCheckpoint(int stepIndex, Map<String, Object> variables) {
+        try {
+            checkpointListener.accept(StepCheckpoint.capture(page, stepIndex + 1, variables));
+            logFn.accept("INFO", "Checkpoint saved after step " + (stepIndex + 1));
+        } catch (Exception e) {
+            // Kontrol noktası alınamazsa test devam eder; tekrar deneme önceki noktadan başlar
+            logFn.accept("WARN", "Checkpoint could not be saved after step " + (stepIndex + 1) + ": " + e.getMessage());
+        }
+    }
 }
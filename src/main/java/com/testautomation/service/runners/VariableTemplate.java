@@ -0,0 +1,213 @@
+package com.testautomation.service.runners;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Önceden ayrıştırılmış değişken şablonu
+ * Metin bir kez sabit ve ${değişken} parçalarına ayrılır; her çalıştırmada yalnızca değişkenler bağlanır.
+ * İç içe erişim (${user.email}) ve varsayılan değer (${x:yedek}) desteklenir; ad düz bir tanımlayıcı
+ * yolu değilse (ör. JavaScript ifadesi) ifade değiştirilmez.
+ * Çözülemeyen ve varsayılanı olmayan değişkenler olduğu gibi (${ad}) bırakılır.
+ */
+public final class VariableTemplate {
+    private static final Variable[] NO_VARIABLES = new Variable[0];
+
+    private final String source;
+    // literals.length == variables.length + 1; değişkenler sabitlerin arasına yerleşir
+    private final String[] literals;
+    private final Variable[] variables;
+
+    private VariableTemplate(String source, String[] literals, Variable[] variables) {
+        this.source = source;
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    /**
+     * Metni şablona dönüştür
+     * @param source Kaynak metin
+     * @return Şablon veya kaynak null ise null
+     */
+    public static VariableTemplate compile(String source) {
+        if (source == null) {
+            return null;
+        }
+
+        int start = source.indexOf("${");
+        if (start < 0) {
+            return new VariableTemplate(source, new String[]{source}, NO_VARIABLES);
+        }
+
+        List<String> literalParts = new ArrayList<>();
+        List<Variable> variableParts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+
+        while (start >= 0) {
+            int end = source.indexOf('}', start + 2);
+            if (end < 0) {
+                break;
+            }
+
+            if (end == start + 2) {
+                // "${}" değişken değildir, sabit olarak kalır
+                literal.append(source, position, end + 1);
+            } else {
+                literal.append(source, position, start);
+                literalParts.add(literal.toString());
+                literal.setLength(0);
+                variableParts.add(new Variable(source.substring(start + 2, end)));
+            }
+
+            position = end + 1;
+            start = source.indexOf("${", position);
+        }
+
+        literal.append(source, position, source.length());
+        literalParts.add(literal.toString());
+
+        return new VariableTemplate(source,
+            literalParts.toArray(new String[0]),
+            variableParts.toArray(NO_VARIABLES));
+    }
+
+    /**
+     * Metindeki değişkenleri tek seferde değiştir
+     * Metinde "${" yoksa aynı nesne döner, hiçbir nesne oluşturulmaz.
+     * @param value Metin
+     * @param variables Değişkenler
+     * @param dataSet Veri seti
+     * @return Değişkenleri değiştirilmiş metin
+     */
+    public static String render(String value, Map<String, Object> variables, Map<String, Object> dataSet) {
+        if (value == null || value.indexOf("${") < 0) {
+            return value;
+        }
+        return compile(value).render(variables, dataSet);
+    }
+
+    /**
+     * Şablonda değişken yoksa true
+     */
+    public boolean isConstant() {
+        return variables.length == 0;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Değişkenleri bağlayarak metni oluştur
+     * Önce değişkenlere, sonra veri setine bakılır.
+     * @param variables Değişkenler
+     * @param dataSet Veri seti
+     * @return Oluşturulan metin
+     */
+    public String render(Map<String, Object> variables, Map<String, Object> dataSet) {
+        if (this.variables.length == 0) {
+            return source;
+        }
+
+        StringBuilder sb = new StringBuilder(source.length() + 16 * this.variables.length);
+        for (int i = 0; i < this.variables.length; i++) {
+            sb.append(literals[i]);
+            this.variables[i].appendTo(sb, variables, dataSet);
+        }
+        sb.append(literals[this.variables.length]);
+
+        return sb.toString();
+    }
+
+    /**
+     * Tek bir ${...} ifadesi: tam ad, iç içe erişim yolu ve varsayılan değer
+     */
+    private static final class Variable {
+        private static final Pattern IDENTIFIER_PATH = Pattern.compile("[A-Za-z_][\\w.]*");
+
+        private final String token;
+        private final String name;
+        private final String[] path;
+        private final String defaultValue;
+
+        private Variable(String token) {
+            this.token = token;
+
+            // Varsayılan değer ve iç içe erişim yalnızca ad düz bir tanımlayıcı yolu ise ayrıştırılır;
+            // aksi halde ifade (ör. evaluate adımlarındaki JavaScript) yalnızca tam adıyla aranır
+            int separator = token.indexOf(':');
+            String candidate = separator >= 0 ? token.substring(0, separator) : token;
+            if (IDENTIFIER_PATH.matcher(candidate).matches()) {
+                this.name = candidate;
+                this.defaultValue = separator >= 0 ? token.substring(separator + 1) : null;
+                this.path = name.indexOf('.') >= 0 ? name.split("\\.") : null;
+            } else {
+                this.name = token;
+                this.defaultValue = null;
+                this.path = null;
+            }
+        }
+
+        private void appendTo(StringBuilder sb, Map<String, Object> variables, Map<String, Object> dataSet) {
+            Object replacement = resolve(variables, dataSet);
+            if (replacement != null) {
+                sb.append(replacement);
+            } else if (defaultValue != null) {
+                sb.append(defaultValue);
+            } else {
+                sb.append("${").append(token).append('}');
+            }
+        }
+
+        private Object resolve(Map<String, Object> variables, Map<String, Object> dataSet) {
+            // Noktalı veya iki nokta içeren anahtarlar önce olduğu gibi aranır
+            if (variables != null && variables.containsKey(token)) {
+                return variables.get(token);
+            }
+            if (dataSet != null && dataSet.containsKey(token)) {
+                return dataSet.get(token);
+            }
+            if (path == null) {
+                if (defaultValue == null) {
+                    return null;
+                }
+                return lookup(name, variables, dataSet);
+            }
+
+            Object current = lookup(path[0], variables, dataSet);
+            for (int i = 1; i < path.length && current != null; i++) {
+                current = child(current, path[i]);
+            }
+            return current;
+        }
+
+        private static Object lookup(String key, Map<String, Object> variables, Map<String, Object> dataSet) {
+            if (variables != null && variables.containsKey(key)) {
+                return variables.get(key);
+            }
+            if (dataSet != null) {
+                return dataSet.get(key);
+            }
+            return null;
+        }
+
+        private static Object child(Object parent, String key) {
+            if (parent instanceof Map) {
+                return ((Map<?, ?>) parent).get(key);
+            }
+            if (parent instanceof List) {
+                List<?> list = (List<?>) parent;
+                try {
+                    int index = Integer.parseInt(key);
+                    return index >= 0 && index < list.size() ? list.get(index) : null;
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.testautomation.service.runners;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.ScreenshotType;
+import com.testautomation.model.VisualCompareOptions;
+import com.testautomation.model.VisualDiffResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * VisualCompareService
+ * "visualcompare" adımında sayfa görüntüsünü raporlar dizini altındaki temel görüntüyle karşılaştırır.
+ * Temel görüntü yoksa mevcut görüntü temel olarak kaydedilir ve adım başarılı sayılır.
+ * Karşılaştırma {@link VisualDiff} ile paylaşılan bir ForkJoin havuzunda yapılır; fark görüntüsü
+ * yalnızca eşleşme başarısız olduğunda yazılır.
+ */
+@Service
+public class VisualCompareService {
+    private static final Logger logger = LoggerFactory.getLogger(VisualCompareService.class);
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+
+    @Autowired
+    @Qualifier("reportsDir")
+    private String reportsDir;
+
+    @Value("${app.visual.parallelism:0}")
+    private int parallelism;
+
+    @Value("${app.visual.tile-size:256}")
+    private int tileSize;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void initialize() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads);
+        logger.info("Görsel karşılaştırma havuzu başlatıldı: parallelism={}, tileSize={}", threads, tileSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Sayfanın görüntüsünü temel görüntüyle karşılaştır
+     * @param page Sayfa
+     * @param baselineName Temel görüntü adı
+     * @param options Karşılaştırma seçenekleri
+     * @return Karşılaştırma sonucu
+     */
+    public VisualDiffResult compare(Page page, String baselineName, VisualCompareOptions options) throws IOException {
+        long startTime = System.currentTimeMillis();
+        VisualDiffResult result = new VisualDiffResult();
+        result.setBaseline(baselineName);
+
+        // Sıkıştırma kaybı karşılaştırmayı bozmasın diye her zaman PNG alınır
+        byte[] capture = page.screenshot(new Page.ScreenshotOptions()
+            .setFullPage(options.isFullPage())
+            .setType(ScreenshotType.PNG));
+
+        Path baseline = baselinePath(baselineName);
+        if (options.isUpdateBaseline() || !Files.exists(baseline)) {
+            writeAtomically(baseline, capture);
+            result.setPassed(true);
+            result.setBaselineCreated(true);
+            result.setDuration(System.currentTimeMillis() - startTime);
+            logger.info("Temel görüntü kaydedildi: {}", baseline);
+            return result;
+        }
+
+        // Temel görüntü havuzda, mevcut görüntü bu iş parçacığında çözülür
+        CompletableFuture<BufferedImage> expectedFuture = CompletableFuture.supplyAsync(() -> read(baseline), pool);
+        BufferedImage actual = ImageIO.read(new ByteArrayInputStream(capture));
+        BufferedImage expected = expectedFuture.join();
+        if (expected == null || actual == null) {
+            throw new IOException("Screenshot could not be decoded for visual comparison: " + baselineName);
+        }
+
+        // Yok sayılan bölgeler CSS pikseliyle verilir; görüntü cihaz pikseliyle alınır
+        double scale = devicePixelRatio(page);
+        VisualDiff.Result diff = VisualDiff.compare(expected, actual, options.getThreshold(),
+            options.getIgnoreRegions(), scale, tileSize, pool);
+
+        result.setMismatchedPixels(diff.getMismatchedPixels());
+        result.setComparedPixels(diff.getComparedPixels());
+        result.setMismatchedTiles(diff.getMismatchedTiles());
+        result.setDiffRatio(diff.getDiffRatio());
+        result.setPassed(diff.getMismatchedPixels() == 0 || diff.getDiffRatio() <= options.getMaxDiffRatio());
+
+        if (!result.isPassed()) {
+            BufferedImage diffImage = VisualDiff.render(expected, actual, options.getThreshold(),
+                options.getIgnoreRegions(), scale, tileSize, pool);
+            Path diffPath = Paths.get(reportsDir, "visual", "diffs",
+                safeName(baselineName) + "_" + LocalDateTime.now().format(TIMESTAMP_FORMAT) + ".png");
+            Files.createDirectories(diffPath.getParent());
+            ImageIO.write(diffImage, "png", diffPath.toFile());
+            result.setDiffImage(diffPath.toString());
+        }
+
+        result.setDuration(System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    /**
+     * Temel görüntünün yolu
+     * @param baselineName Temel görüntü adı
+     * @return Dosya yolu
+     */
+    public Path baselinePath(String baselineName) {
+        return Paths.get(reportsDir, "visual", "baselines", safeName(baselineName) + ".png");
+    }
+
+    private static String safeName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static BufferedImage read(Path path) {
+        try {
+            return ImageIO.read(path.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static double devicePixelRatio(Page page) {
+        try {
+            Object ratio = page.evaluate("() => window.devicePixelRatio");
+            return ratio instanceof Number ? ((Number) ratio).doubleValue() : 1.0;
+        } catch (Exception e) {
+            return 1.0;
+        }
+    }
+
+    private static void writeAtomically(Path path, byte[] bytes) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temp, bytes);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
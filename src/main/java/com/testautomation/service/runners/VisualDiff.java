@@ -0,0 +1,385 @@
+package com.testautomation.service.runners;
+
+import com.testautomation.model.ScreenRegion;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Paralel algısal görsel fark motoru
+ * Görüntüler kare karolara bölünür ve karolar ForkJoin havuzunda karşılaştırılır.
+ * Renk farkı YIQ uzayında ölçülür; göz parlaklık farkına renk tonu farkından daha duyarlı olduğu için
+ * Y bileşeni daha ağırlıklıdır. Eşik 0-1 arasıdır (0.1 ≈ gözle zor fark edilen değişim).
+ * İlk geçiş yalnızca sayar; fark görüntüsü gerektiğinde ayrı bir geçişte üretilir.
+ * Boyutları farklı görüntülerde yalnızca birinde bulunan pikseller farklı sayılır.
+ */
+public final class VisualDiff {
+    // İki piksel arasındaki olası en büyük YIQ farkı
+    private static final double MAX_YIQ_DELTA = 35215.0;
+    // Karo bu sayıdan az ise görev bölünmeden çalıştırılır
+    private static final int TILES_PER_TASK = 4;
+
+    private final BufferedImage expected;
+    private final BufferedImage actual;
+    private final double maxDelta;
+    private final List<int[]> ignoreRegions;
+    private final int tileSize;
+    private final int width;
+    private final int height;
+    private final int tilesX;
+    private final int tilesY;
+
+    private VisualDiff(BufferedImage expected, BufferedImage actual, double threshold,
+                       List<ScreenRegion> ignoreRegions, double scale, int tileSize) {
+        this.expected = expected;
+        this.actual = actual;
+        this.maxDelta = MAX_YIQ_DELTA * threshold * threshold;
+        this.tileSize = tileSize;
+        this.width = Math.max(expected.getWidth(), actual.getWidth());
+        this.height = Math.max(expected.getHeight(), actual.getHeight());
+        this.tilesX = (width + tileSize - 1) / tileSize;
+        this.tilesY = (height + tileSize - 1) / tileSize;
+
+        // Bölgeler görüntü pikseline çevrilir: {x1, y1, x2, y2} (x2/y2 hariç)
+        this.ignoreRegions = new ArrayList<>();
+        if (ignoreRegions != null) {
+            for (ScreenRegion region : ignoreRegions) {
+                this.ignoreRegions.add(new int[]{
+                    (int) Math.floor(region.getX() * scale),
+                    (int) Math.floor(region.getY() * scale),
+                    (int) Math.ceil((region.getX() + region.getWidth()) * scale),
+                    (int) Math.ceil((region.getY() + region.getHeight()) * scale)
+                });
+            }
+        }
+    }
+
+    /**
+     * İki görüntüyü karşılaştır
+     * @param expected Beklenen (temel) görüntü
+     * @param actual Mevcut görüntü
+     * @param threshold Piksel başına renk farkı eşiği (0-1)
+     * @param ignoreRegions Karşılaştırılmayacak alanlar (CSS pikseli)
+     * @param scale CSS pikselinden görüntü pikseline ölçek (devicePixelRatio)
+     * @param tileSize Karo kenar uzunluğu (piksel)
+     * @param pool ForkJoin havuzu
+     * @return Karşılaştırma sonucu
+     */
+    public static Result compare(BufferedImage expected, BufferedImage actual, double threshold,
+                                 List<ScreenRegion> ignoreRegions, double scale, int tileSize, ForkJoinPool pool) {
+        VisualDiff diff = new VisualDiff(expected, actual, threshold, ignoreRegions, scale, tileSize);
+        long[] mismatches = new long[diff.tilesX * diff.tilesY];
+        long[] compared = new long[mismatches.length];
+        pool.invoke(diff.new TileTask(0, mismatches.length, mismatches, compared, null));
+
+        long mismatchedPixels = 0;
+        long comparedPixels = 0;
+        int mismatchedTiles = 0;
+        for (int i = 0; i < mismatches.length; i++) {
+            mismatchedPixels += mismatches[i];
+            comparedPixels += compared[i];
+            if (mismatches[i] > 0) {
+                mismatchedTiles++;
+            }
+        }
+        return new Result(diff.width, diff.height, mismatchedPixels, comparedPixels, mismatchedTiles);
+    }
+
+    /**
+     * Fark görüntüsünü üret: değişmeyen pikseller soluk gri, farklı pikseller kırmızı, yok sayılan alanlar mavi
+     * Parametreler {@link #compare} ile aynıdır.
+     * @return Fark görüntüsü
+     */
+    public static BufferedImage render(BufferedImage expected, BufferedImage actual, double threshold,
+                                       List<ScreenRegion> ignoreRegions, double scale, int tileSize, ForkJoinPool pool) {
+        VisualDiff diff = new VisualDiff(expected, actual, threshold, ignoreRegions, scale, tileSize);
+        BufferedImage output = new BufferedImage(diff.width, diff.height, BufferedImage.TYPE_INT_RGB);
+        int[] outputPixels = ((DataBufferInt) output.getRaster().getDataBuffer()).getData();
+        int tiles = diff.tilesX * diff.tilesY;
+        pool.invoke(diff.new TileTask(0, tiles, new long[tiles], new long[tiles], outputPixels));
+        return output;
+    }
+
+    /**
+     * Karo aralığını karşılaştıran görev; aralık küçülene kadar ikiye bölünür
+     */
+    private final class TileTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final long[] mismatches;
+        private final long[] compared;
+        private final int[] output;
+
+        private TileTask(int from, int to, long[] mismatches, long[] compared, int[] output) {
+            this.from = from;
+            this.to = to;
+            this.mismatches = mismatches;
+            this.compared = compared;
+            this.output = output;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > TILES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TileTask(from, middle, mismatches, compared, output),
+                    new TileTask(middle, to, mismatches, compared, output));
+                return;
+            }
+
+            int[] expectedTile = new int[tileSize * tileSize];
+            int[] actualTile = new int[tileSize * tileSize];
+            for (int tile = from; tile < to; tile++) {
+                compareTile(tile, expectedTile, actualTile, mismatches, compared, output);
+            }
+        }
+    }
+
+    private void compareTile(int tile, int[] expectedTile, int[] actualTile,
+                             long[] mismatches, long[] compared, int[] output) {
+        int x0 = (tile % tilesX) * tileSize;
+        int y0 = (tile / tilesX) * tileSize;
+        int tileWidth = Math.min(tileSize, width - x0);
+        int tileHeight = Math.min(tileSize, height - y0);
+
+        // Her iki görüntünün bu karoya düşen kısmı (boyutlar farklıysa kısmi olabilir)
+        int expectedWidth = clamp(expected.getWidth() - x0, tileWidth);
+        int expectedHeight = clamp(expected.getHeight() - y0, tileHeight);
+        int actualWidth = clamp(actual.getWidth() - x0, tileWidth);
+        int actualHeight = clamp(actual.getHeight() - y0, tileHeight);
+        readPixels(expected, x0, y0, expectedWidth, expectedHeight, expectedTile, tileWidth);
+        readPixels(actual, x0, y0, actualWidth, actualHeight, actualTile, tileWidth);
+
+        List<int[]> regions = regionsIn(x0, y0, tileWidth, tileHeight);
+        long mismatched = 0;
+        long comparedCount = 0;
+
+        for (int y = 0; y < tileHeight; y++) {
+            int row = y * tileWidth;
+            for (int x = 0; x < tileWidth; x++) {
+                if (!regions.isEmpty() && isIgnored(regions, x0 + x, y0 + y)) {
+                    if (output != null) {
+                        output[(y0 + y) * width + x0 + x] = 0xA0C8FF;
+                    }
+                    continue;
+                }
+                comparedCount++;
+
+                boolean inExpected = x < expectedWidth && y < expectedHeight;
+                boolean inActual = x < actualWidth && y < actualHeight;
+                int expectedPixel = expectedTile[row + x];
+                boolean different;
+                if (inExpected && inActual) {
+                    int actualPixel = actualTile[row + x];
+                    different = expectedPixel != actualPixel && colorDelta(expectedPixel, actualPixel) > maxDelta;
+                } else {
+                    different = true;
+                }
+
+                if (different) {
+                    mismatched++;
+                }
+                if (output != null) {
+                    output[(y0 + y) * width + x0 + x] = different
+                        ? 0xFF0000
+                        : fadedGray(inExpected ? expectedPixel : actualTile[row + x]);
+                }
+            }
+        }
+
+        mismatches[tile] = mismatched;
+        compared[tile] = comparedCount;
+    }
+
+    private List<int[]> regionsIn(int x0, int y0, int tileWidth, int tileHeight) {
+        if (ignoreRegions.isEmpty()) {
+            return ignoreRegions;
+        }
+        List<int[]> regions = new ArrayList<>(2);
+        for (int[] region : ignoreRegions) {
+            if (region[0] < x0 + tileWidth && region[2] > x0 && region[1] < y0 + tileHeight && region[3] > y0) {
+                regions.add(region);
+            }
+        }
+        return regions;
+    }
+
+    private static boolean isIgnored(List<int[]> regions, int x, int y) {
+        for (int[] region : regions) {
+            if (x >= region[0] && x < region[2] && y >= region[1] && y < region[3]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(value, max));
+    }
+
+    /**
+     * İki ARGB piksel arasındaki YIQ farkının karesi (saydam pikseller beyaz zemin üzerine karıştırılır)
+     */
+    static double colorDelta(int first, int second) {
+        int a1 = first >>> 24;
+        int a2 = second >>> 24;
+        double r1 = blend((first >> 16) & 0xFF, a1);
+        double g1 = blend((first >> 8) & 0xFF, a1);
+        double b1 = blend(first & 0xFF, a1);
+        double r2 = blend((second >> 16) & 0xFF, a2);
+        double g2 = blend((second >> 8) & 0xFF, a2);
+        double b2 = blend(second & 0xFF, a2);
+
+        double y = rgbToY(r1, g1, b1) - rgbToY(r2, g2, b2);
+        double i = rgbToI(r1, g1, b1) - rgbToI(r2, g2, b2);
+        double q = rgbToQ(r1, g1, b1) - rgbToQ(r2, g2, b2);
+        return 0.5053 * y * y + 0.299 * i * i + 0.1957 * q * q;
+    }
+
+    private static double blend(int channel, int alpha) {
+        return alpha == 255 ? channel : 255 + (channel - 255) * alpha / 255.0;
+    }
+
+    private static double rgbToY(double r, double g, double b) {
+        return r * 0.29889531 + g * 0.58662247 + b * 0.11448223;
+    }
+
+    private static double rgbToI(double r, double g, double b) {
+        return r * 0.59597799 - g * 0.27417610 - b * 0.32180189;
+    }
+
+    private static double rgbToQ(double r, double g, double b) {
+        return r * 0.21147017 - g * 0.52261711 + b * 0.31114694;
+    }
+
+    private static int fadedGray(int pixel) {
+        double luma = rgbToY(blend((pixel >> 16) & 0xFF, pixel >>> 24),
+            blend((pixel >> 8) & 0xFF, pixel >>> 24),
+            blend(pixel & 0xFF, pixel >>> 24));
+        int gray = (int) (255 + (luma - 255) * 0.1);
+        return (gray << 16) | (gray << 8) | gray;
+    }
+
+    /**
+     * Görüntü bölgesini ARGB dizisine oku
+     * 8 bit RGB/RGBA (PNG çözücüsünün ürettiği) ve int tabanlı görüntülerde raster doğrudan okunur;
+     * diğer türlerde {@link BufferedImage#getRGB} kullanılır.
+     */
+    static void readPixels(BufferedImage image, int x, int y, int w, int h, int[] out, int stride) {
+        if (w <= 0 || h <= 0) {
+            return;
+        }
+
+        Raster raster = image.getRaster();
+        DataBuffer buffer = raster.getDataBuffer();
+        boolean untranslated = raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0
+            && buffer.getNumBanks() == 1 && buffer.getOffset() == 0;
+
+        int type = image.getType();
+        if (untranslated && (type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB)) {
+            int[] data = ((DataBufferInt) buffer).getData();
+            int alpha = type == BufferedImage.TYPE_INT_RGB ? 0xFF000000 : 0;
+            int imageWidth = image.getWidth();
+            for (int row = 0; row < h; row++) {
+                int source = (y + row) * imageWidth + x;
+                int target = row * stride;
+                for (int col = 0; col < w; col++) {
+                    out[target + col] = data[source + col] | alpha;
+                }
+            }
+            return;
+        }
+
+        if (untranslated && isInterleavedRgb(image)) {
+            ComponentSampleModel sampleModel = (ComponentSampleModel) raster.getSampleModel();
+            byte[] data = ((DataBufferByte) buffer).getData();
+            int pixelStride = sampleModel.getPixelStride();
+            int scanlineStride = sampleModel.getScanlineStride();
+            int[] offsets = sampleModel.getBandOffsets();
+            boolean hasAlpha = offsets.length == 4;
+            for (int row = 0; row < h; row++) {
+                int source = (y + row) * scanlineStride + x * pixelStride;
+                int target = row * stride;
+                for (int col = 0; col < w; col++, source += pixelStride) {
+                    int a = hasAlpha ? data[source + offsets[3]] & 0xFF : 0xFF;
+                    out[target + col] = (a << 24)
+                        | ((data[source + offsets[0]] & 0xFF) << 16)
+                        | ((data[source + offsets[1]] & 0xFF) << 8)
+                        | (data[source + offsets[2]] & 0xFF);
+                }
+            }
+            return;
+        }
+
+        image.getRGB(x, y, w, h, out, 0, stride);
+    }
+
+    private static boolean isInterleavedRgb(BufferedImage image) {
+        if (!(image.getColorModel() instanceof ComponentColorModel)
+            || !(image.getRaster().getSampleModel() instanceof ComponentSampleModel)
+            || !(image.getRaster().getDataBuffer() instanceof DataBufferByte)) {
+            return false;
+        }
+        ComponentColorModel colorModel = (ComponentColorModel) image.getColorModel();
+        int bands = image.getRaster().getNumBands();
+        return colorModel.getColorSpace().isCS_sRGB()
+            && !colorModel.isAlphaPremultiplied()
+            && (bands == 3 || (bands == 4 && colorModel.hasAlpha()))
+            && colorModel.getComponentSize(0) == 8;
+    }
+
+    /**
+     * Karşılaştırma sayaçları
+     */
+    public static final class Result {
+        private final int width;
+        private final int height;
+        private final long mismatchedPixels;
+        private final long comparedPixels;
+        private final int mismatchedTiles;
+
+        private Result(int width, int height, long mismatchedPixels, long comparedPixels, int mismatchedTiles) {
+            this.width = width;
+            this.height = height;
+            this.mismatchedPixels = mismatchedPixels;
+            this.comparedPixels = comparedPixels;
+            this.mismatchedTiles = mismatchedTiles;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public long getMismatchedPixels() {
+            return mismatchedPixels;
+        }
+
+        public long getComparedPixels() {
+            return comparedPixels;
+        }
+
+        public int getMismatchedTiles() {
+            return mismatchedTiles;
+        }
+
+        /**
+         * Farklı piksellerin karşılaştırılan piksellere oranı
+         */
+        public double getDiffRatio() {
+            return comparedPixels == 0 ? 0 : (double) mismatchedPixels / comparedPixels;
+        }
+    }
+}
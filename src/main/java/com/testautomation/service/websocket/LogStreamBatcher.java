@@ -0,0 +1,189 @@
+package com.testautomation.service.websocket;
+
+import com.testautomation.model.LogEntry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LogStreamBatcher
+ * Canlı test loglarını test bazında biriktirir ve dizi halinde tek bir STOMP mesajı olarak gönderir.
+ * Tampon N kayda ulaştığında veya X ms dolduğunda boşaltılır; gönderim ayrı bir iş parçacığında yapılır,
+ * böylece test iş parçacıkları WebSocket teslimatını hiçbir zaman beklemez.
+ * Abone geride kaldığında (giden kanal kuyruğu veya test tamponu dolduğunda) INFO/DEBUG kayıtları örneklenir;
+ * WARN ve ERROR kayıtları her zaman gönderilir.
+ */
+@Service
+@RequiredArgsConstructor
+public class LogStreamBatcher {
+    private static final Logger logger = LoggerFactory.getLogger(LogStreamBatcher.class);
+
+    private final WebSocketService webSocketService;
+
+    @Autowired
+    @Qualifier("clientOutboundChannelExecutor")
+    private ThreadPoolTaskExecutor clientOutboundExecutor;
+
+    @Value("${app.websocket.logs.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.websocket.logs.flush-interval:200}")
+    private long flushInterval;
+
+    @Value("${app.websocket.logs.max-pending:1000}")
+    private int maxPending;
+
+    @Value("${app.websocket.logs.sample-rate:10}")
+    private int sampleRate;
+
+    @Value("${app.websocket.logs.outbound-backlog-threshold:500}")
+    private int outboundBacklogThreshold;
+
+    private final Map<String, TestLogBuffer> buffers = new ConcurrentHashMap<>();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong sampledOutCount = new AtomicLong();
+
+    private ScheduledExecutorService flushExecutor;
+
+    @PostConstruct
+    public void start() {
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "LogStream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::flushAll, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        logger.info("Canlı log gönderici başlatıldı: toplu gönderim={}, aralık={} ms", batchSize, flushInterval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+        }
+        buffers.clear();
+    }
+
+    /**
+     * Log kaydını canlı gönderim için tampona ekle (bloklamaz)
+     * @param testId Test ID
+     * @param entry Log kaydı
+     */
+    public void submit(String testId, LogEntry entry) {
+        TestLogBuffer buffer = buffers.computeIfAbsent(testId, id -> new TestLogBuffer());
+
+        boolean flushNow;
+        synchronized (buffer) {
+            boolean behind = buffer.entries.size() >= maxPending || isOutboundBacklogged();
+            if (behind && !isImportant(entry) && buffer.sampleCounter++ % sampleRate != 0) {
+                buffer.skipped++;
+                sampledOutCount.incrementAndGet();
+                return;
+            }
+            if (buffer.entries.size() >= maxPending * 2) {
+                // Örneklemeye rağmen tampon büyümeye devam ediyorsa en eski kayıt atılır
+                buffer.entries.remove(0);
+                buffer.skipped++;
+                sampledOutCount.incrementAndGet();
+            }
+
+            buffer.entries.add(entry);
+            flushNow = buffer.entries.size() >= batchSize && !buffer.flushScheduled;
+            if (flushNow) {
+                buffer.flushScheduled = true;
+            }
+        }
+
+        if (flushNow) {
+            flushExecutor.execute(() -> flush(testId, buffer));
+        }
+    }
+
+    /**
+     * Test tamamlandığında kalan kayıtları gönder ve tamponu kaldır
+     * @param testId Test ID
+     */
+    public void complete(String testId) {
+        TestLogBuffer buffer = buffers.remove(testId);
+        if (buffer != null) {
+            flushExecutor.execute(() -> flush(testId, buffer));
+        }
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOutCount.get();
+    }
+
+    public int getActiveStreamCount() {
+        return buffers.size();
+    }
+
+    private void flushAll() {
+        try {
+            buffers.forEach(this::flush);
+        } catch (Exception e) {
+            logger.error("Canlı loglar gönderilirken hata oluştu", e);
+        }
+    }
+
+    private void flush(String testId, TestLogBuffer buffer) {
+        List<LogEntry> batch;
+        long skipped;
+        synchronized (buffer) {
+            buffer.flushScheduled = false;
+            if (buffer.entries.isEmpty()) {
+                return;
+            }
+            batch = buffer.entries;
+            skipped = buffer.skipped;
+            buffer.entries = new ArrayList<>(batchSize);
+            buffer.skipped = 0;
+        }
+
+        try {
+            webSocketService.sendTestLogs(testId, batch, skipped);
+            sentCount.addAndGet(batch.size());
+        } catch (Exception e) {
+            logger.warn("Test {} için canlı loglar gönderilemedi: {}", testId, e.getMessage());
+        }
+    }
+
+    private boolean isOutboundBacklogged() {
+        return clientOutboundExecutor != null
+            && clientOutboundExecutor.getThreadPoolExecutor().getQueue().size() >= outboundBacklogThreshold;
+    }
+
+    private static boolean isImportant(LogEntry entry) {
+        return "ERROR".equals(entry.getLevel()) || "WARN".equals(entry.getLevel());
+    }
+
+    /**
+     * Tek bir testin gönderilmeyi bekleyen log kayıtları
+     */
+    private static final class TestLogBuffer {
+        private List<LogEntry> entries = new ArrayList<>();
+        private long skipped;
+        private long sampleCounter;
+        private boolean flushScheduled;
+    }
+}
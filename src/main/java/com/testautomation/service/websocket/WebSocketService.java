@@ -1,24 +1,55 @@
 package com.testautomation.service.websocket;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.testautomation.model.LogEntry;
 import com.testautomation.model.Test;
 import com.testautomation.model.TestResult;
+import com.testautomation.model.TestStatusEvent;
 import com.testautomation.service.core.AutoScalerService.AutoScalerOptions;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class WebSocketService {
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketService.class);
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Test durum değişikliğini gönder
+     * Yalnızca değişen alanları içeren kısa bir olay bir kez serileştirilir ve iki konuya da gönderilir.
+     * Testin tüm ayrıntıları REST API üzerinden alınır.
+     * @param test Test
+     */
     public void sendTestStatus(Test test) {
-        messagingTemplate.convertAndSend("/topic/tests/" + test.getId() + "/status", test);
-        messagingTemplate.convertAndSend("/topic/tests/status", test);
+        TestStatusEvent event = new TestStatusEvent(test);
+
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            logger.warn("Test durum olayı serileştirilemedi: {}", e.getMessage());
+            messagingTemplate.convertAndSend("/topic/tests/" + test.getId() + "/status", event);
+            messagingTemplate.convertAndSend("/topic/tests/status", event);
+            return;
+        }
+
+        sendJson("/topic/tests/" + test.getId() + "/status", payload);
+        sendJson("/topic/tests/status", payload);
     }
 
     public void sendTestResult(TestResult result) {
@@ -26,8 +57,15 @@ public class WebSocketService {
         messagingTemplate.convertAndSend("/topic/tests/results", result);
     }
 
-    public void sendTestLog(String testId, LogEntry logEntry) {
-        messagingTemplate.convertAndSend("/topic/tests/" + testId + "/logs", logEntry);
+    /**
+     * Test log kayıtlarını tek bir dizi mesajı olarak gönder
+     * @param testId Test ID
+     * @param logEntries Log kayıtları
+     * @param skipped Örnekleme nedeniyle gönderilmeyen kayıt sayısı ("skipped" başlığı)
+     */
+    public void sendTestLogs(String testId, List<LogEntry> logEntries, long skipped) {
+        messagingTemplate.convertAndSend("/topic/tests/" + testId + "/logs", logEntries,
+            Map.<String, Object>of("skipped", skipped));
     }
 
     public void sendAgentStatus(String agentId, String status) {
@@ -54,6 +92,17 @@ public class WebSocketService {
             new AutoScalerEventMessage(eventType, data));
     }
 
+    /**
+     * Önceden serileştirilmiş JSON içeriğini gönder
+     * Başlıklar her hedef için ayrı oluşturulur; içerik paylaşılır.
+     */
+    private void sendJson(String destination, byte[] payload) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(payload, headers.getMessageHeaders()));
+    }
+
     @Getter
     private static class AgentStatusMessage {
         private final String agentId;
@@ -0,0 +1,43 @@
+package com.testautomation.service.runners;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VariableTemplateTest {
+
+    @Test
+    void replacesVariablesAndNestedPaths() {
+        Map<String, Object> variables = Map.of(
+            "user", Map.of("email", "jane@example.com"),
+            "items", List.of("first", "second"));
+
+        assertEquals("jane@example.com / second",
+            VariableTemplate.render("${user.email} / ${items.1}", variables, Map.of()));
+    }
+
+    @Test
+    void usesDefaultValueForUnresolvedIdentifier() {
+        assertEquals("guest", VariableTemplate.render("${name:guest}", Map.of(), Map.of()));
+        assertEquals("guest", VariableTemplate.render("${user.name:guest}", Map.of(), Map.of()));
+    }
+
+    @Test
+    void leavesUnresolvedVariablesUnchanged() {
+        assertEquals("Hello ${name}", VariableTemplate.render("Hello ${name}", Map.of(), Map.of()));
+    }
+
+    @Test
+    void leavesJavaScriptExpressionsUnchanged() {
+        Map<String, Object> variables = Map.of("a", true);
+
+        String ternary = "return `${a ? 'x' : 'y'}`;";
+        assertEquals(ternary, VariableTemplate.render(ternary, variables, Map.of()));
+
+        String objectLiteral = "return `${JSON.stringify({a:1})}`;";
+        assertEquals(objectLiteral, VariableTemplate.render(objectLiteral, variables, Map.of()));
+    }
+}